@@ -1,9 +1,19 @@
 package com.lake.agent.api.controller;
 
 import com.lake.agent.core.Agent;
+import com.lake.agent.core.AgentRegistrySnapshot;
 import com.lake.agent.core.context.AgentContext;
+import com.lake.agent.core.exception.AgentOverloadedException;
+import com.lake.agent.core.id.MessageIds;
 import com.lake.agent.core.message.Message;
 import com.lake.agent.core.message.MessageType;
+import com.lake.agent.framework.AgentProperties;
+import com.lake.agent.framework.context.AgentContextStore;
+import com.lake.agent.framework.context.ContextStoreStatistics;
+import com.lake.agent.framework.routing.AgentMessageRouter;
+import com.lake.agent.framework.routing.RouterStatistics;
+import com.lake.agent.framework.scheduling.PriorityTaskQueue;
+import com.lake.agent.framework.scheduling.SchedulerStatistics;
 import com.lake.agent.service.AgentService;
 import com.lake.agent.service.AgentStatistics;
 import io.swagger.v3.oas.annotations.Operation;
@@ -11,12 +21,22 @@ import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
-import java.util.UUID;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 /**
  * Agent REST API控制器
@@ -30,14 +50,34 @@ import java.util.UUID;
 @Tag(name = "Agent API", description = "AI Agent管理和交互API")
 public class AgentController {
 
+    /**
+     * 搜索接口单次返回的最大Agent数量
+     */
+    private static final int MAX_SEARCH_LIMIT = 100;
+
     @Autowired
     private AgentService agentService;
 
+    @Autowired
+    private AgentMessageRouter messageRouter;
+
+    @Autowired
+    private PriorityTaskQueue agentTaskQueue;
+
+    @Autowired
+    private AgentContextStore contextStore;
+
+    @Autowired
+    private AgentProperties agentProperties;
+
     @GetMapping
-    @Operation(summary = "获取所有可用的Agent", description = "返回系统中所有可用的Agent列表")
+    @Operation(summary = "获取所有可用的Agent", description = "返回系统中所有可用的Agent列表，注册表未变化时返回304")
     public ResponseEntity<List<Agent>> getAllAgents() {
-        List<Agent> agents = agentService.getAvailableAgents();
-        return ResponseEntity.ok(agents);
+        AgentRegistrySnapshot snapshot = agentService.getRegistrySnapshot();
+        // ETag取启动纪元和注册表版本号，If-None-Match匹配时由Spring直接返回304，不序列化响应体
+        return ResponseEntity.ok()
+                .eTag(snapshot.getETag())
+                .body(snapshot.getAvailableAgents());
     }
 
     @GetMapping("/{agentId}")
@@ -50,44 +90,212 @@ public class AgentController {
     }
 
     @GetMapping("/search")
-    @Operation(summary = "搜索Agent", description = "根据名称搜索Agent")
+    @Operation(summary = "搜索Agent", description = "根据名称搜索Agent，按精确匹配、前缀匹配、子串匹配排序并分页返回")
     public ResponseEntity<List<Agent>> searchAgents(
-            @Parameter(description = "Agent名称") @RequestParam String name) {
-        List<Agent> agents = agentService.findAgentsByName(name);
+            @Parameter(description = "Agent名称") @RequestParam String name,
+            @Parameter(description = "起始位置") @RequestParam(defaultValue = "0") int offset,
+            @Parameter(description = "最大返回数量") @RequestParam(defaultValue = "20") int limit) {
+        if (offset < 0 || limit <= 0) {
+            return ResponseEntity.badRequest().build();
+        }
+        List<Agent> agents = agentService.findAgentsByName(name, offset, Math.min(limit, MAX_SEARCH_LIMIT));
         return ResponseEntity.ok(agents);
     }
 
+    @PutMapping("/{agentId}/replicas")
+    @Operation(summary = "调整Agent副本数", description = "在运行时调整副本池的副本数，处理中的请求不受影响")
+    public ResponseEntity<Agent> resizeAgent(
+            @Parameter(description = "Agent ID") @PathVariable String agentId,
+            @Parameter(description = "目标副本数") @RequestParam int replicas) {
+        try {
+            return ResponseEntity.ok(agentService.resizeAgent(agentId, replicas));
+        } catch (Exception e) {
+            log.error("Error resizing agent: {}", agentId, e);
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     @PostMapping("/{agentId}/chat")
     @Operation(summary = "与Agent对话", description = "发送消息给指定的Agent")
-    public ResponseEntity<Message> chatWithAgent(
+    public CompletableFuture<ResponseEntity<Message>> chatWithAgent(
             @Parameter(description = "Agent ID") @PathVariable String agentId,
             @RequestBody ChatRequest request) {
 
-        // 构建消息
-        Message message = Message.builder()
-                .id(UUID.randomUUID().toString())
-                .type(MessageType.TEXT)
-                .content(request.getMessage())
-                .sender(request.getUserId())
-                .receiver(agentId)
-                .timestamp(LocalDateTime.now())
-                .status(Message.MessageStatus.CREATED)
-                .priority(Message.Priority.NORMAL)
+        Message message = buildChatMessage(agentId, request);
+        // 截止时间从请求到达时开始计算，同一会话中排队等待的时间也计入预算
+        long deadline = resolveDeadline(request.getTimeoutMillis());
+
+        try {
+            return contextStore.executeInSession(request.getSessionId(), request.getUserId(), agentId, deadline,
+                            context -> agentService.processMessageAsync(agentId, message, context)
+                                    .thenApply(response -> {
+                                        contextStore.recordTurn(context, message, response);
+                                        return response;
+                                    }))
+                    .thenApply(ResponseEntity::ok)
+                    .exceptionally(e -> {
+                        Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                        if (cause instanceof AgentOverloadedException overloaded) {
+                            return handleOverloaded(overloaded);
+                        }
+                        log.error("Error processing message for agent: {}", agentId, e);
+                        return ResponseEntity.badRequest().build();
+                    });
+        } catch (AgentOverloadedException e) {
+            return CompletableFuture.completedFuture(handleOverloaded(e));
+        } catch (Exception e) {
+            log.error("Error processing message for agent: {}", agentId, e);
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest().build());
+        }
+    }
+
+    @PostMapping(value = "/{agentId}/chat", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "与Agent流式对话", description = "以Server-Sent Events形式逐块返回Agent的响应")
+    public Flux<Message> streamChatWithAgent(
+            @Parameter(description = "Agent ID") @PathVariable String agentId,
+            @RequestBody ChatRequest request) {
+
+        Message message = buildChatMessage(agentId, request);
+        long deadline = resolveDeadline(request.getTimeoutMillis());
+
+        // 流式轮次与普通对话轮次一样在会话内串行执行，流结束时记录到会话历史并释放会话
+        Flux<Message> stream = Flux.create(emitter -> {
+            try {
+                contextStore.executeInSession(request.getSessionId(), request.getUserId(), agentId, deadline,
+                        context -> streamTurn(agentId, message, context, emitter));
+            } catch (RuntimeException e) {
+                emitter.error(e);
+            }
+        });
+
+        return stream
+                .onErrorResume(e -> {
+                    log.error("Error streaming message for agent: {}", agentId, e);
+                    return Flux.just(Message.builder()
+                            .id(MessageIds.nextId())
+                            .type(MessageType.ERROR)
+                            .content("Error processing message: " + e.getMessage())
+                            .sender(agentId)
+                            .receiver(request.getUserId())
+                            .timestamp(LocalDateTime.now())
+                            .status(Message.MessageStatus.FAILED)
+                            .priority(Message.Priority.HIGH)
+                            .build());
+                });
+    }
+
+    /**
+     * 执行一个流式对话轮次，消息块转发给客户端，返回的future在流终止时完成
+     */
+    private CompletableFuture<Void> streamTurn(String agentId, Message message, AgentContext context,
+                                               FluxSink<Message> emitter) {
+        if (emitter.isCancelled()) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        List<Message> chunks = new ArrayList<>();
+        try {
+            Disposable subscription = agentService.processMessageStream(agentId, message, context)
+                    .doFinally(signal -> done.complete(null))
+                    .subscribe(chunk -> {
+                        chunks.add(chunk);
+                        emitter.next(chunk);
+                    }, emitter::error, () -> {
+                        contextStore.recordTurn(context, message, joinChunks(chunks));
+                        emitter.complete();
+                    });
+            emitter.onDispose(subscription);
+        } catch (RuntimeException e) {
+            emitter.error(e);
+            done.complete(null);
+        }
+        return done;
+    }
+
+    /**
+     * 将流式响应的消息块合并为一条响应消息
+     */
+    private Message joinChunks(List<Message> chunks) {
+        if (chunks.isEmpty()) {
+            return null;
+        }
+        Message last = chunks.get(chunks.size() - 1);
+        if (chunks.size() == 1) {
+            return last;
+        }
+
+        StringBuilder content = new StringBuilder();
+        for (Message chunk : chunks) {
+            if (chunk.getContent() != null) {
+                content.append(chunk.getContent());
+            }
+        }
+        Map<String, Object> metadata = last.getMetadata() != null ? new HashMap<>(last.getMetadata()) : new HashMap<>();
+        metadata.remove(Message.METADATA_CHUNK_INDEX);
+        metadata.remove(Message.METADATA_LAST_CHUNK);
+        return Message.builder()
+                .id(last.getId())
+                .type(last.getType())
+                .content(content.toString())
+                .sender(last.getSender())
+                .receiver(last.getReceiver())
+                .timestamp(last.getTimestamp())
+                .metadata(metadata)
+                .status(last.getStatus())
+                .priority(last.getPriority())
                 .build();
+    }
 
-        // 构建上下文
+    @PostMapping("/{agentId}/chat:batch")
+    @Operation(summary = "与Agent批量对话", description = "批量发送相互独立的消息，按输入顺序返回每条消息的结果")
+    public CompletableFuture<ResponseEntity<List<BatchChatResult>>> batchChatWithAgent(
+            @Parameter(description = "Agent ID") @PathVariable String agentId,
+            @RequestBody BatchChatRequest request) {
+
+        if (request.getMessages() == null || request.getMessages().isEmpty()) {
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest().build());
+        }
+
+        Message.Priority priority = request.getPriority() != null ? request.getPriority() : Message.Priority.LOW;
+        List<Message> messages = new ArrayList<>(request.getMessages().size());
+        for (String content : request.getMessages()) {
+            messages.add(Message.builder()
+                    .id(MessageIds.nextId())
+                    .type(MessageType.TEXT)
+                    .content(content)
+                    .sender(request.getUserId())
+                    .receiver(agentId)
+                    .timestamp(LocalDateTime.now())
+                    .status(Message.MessageStatus.CREATED)
+                    .priority(priority)
+                    .build());
+        }
+
+        // timeoutMillis是每条消息的预算，各条消息开始处理时分别计时
         AgentContext context = AgentContext.builder()
                 .sessionId(request.getSessionId())
                 .userId(request.getUserId())
                 .agentId(agentId)
+                .deadline(resolveDeadline(request.getTimeoutMillis()))
                 .build();
 
         try {
-            Message response = agentService.processMessage(agentId, message, context);
-            return ResponseEntity.ok(response);
+            return agentService.processBatch(agentId, messages, context)
+                    .thenApply(responses -> {
+                        List<BatchChatResult> results = new ArrayList<>(responses.size());
+                        for (int i = 0; i < responses.size(); i++) {
+                            results.add(BatchChatResult.of(i, responses.get(i)));
+                        }
+                        return ResponseEntity.ok(results);
+                    })
+                    .exceptionally(e -> {
+                        log.error("Error processing batch for agent: {}", agentId, e);
+                        return ResponseEntity.badRequest().build();
+                    });
         } catch (Exception e) {
-            log.error("Error processing message for agent: {}", agentId, e);
-            return ResponseEntity.badRequest().build();
+            log.error("Error processing batch for agent: {}", agentId, e);
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest().build());
         }
     }
 
@@ -98,6 +306,65 @@ public class AgentController {
         return ResponseEntity.ok(statistics);
     }
 
+    @GetMapping("/statistics/router")
+    @Operation(summary = "获取消息路由统计信息", description = "获取Agent间消息投递数量和邮箱积压情况")
+    public ResponseEntity<RouterStatistics> getRouterStatistics() {
+        return ResponseEntity.ok(messageRouter.getStatistics());
+    }
+
+    @GetMapping("/statistics/scheduler")
+    @Operation(summary = "获取优先级调度统计信息", description = "获取各优先级队列的深度和等待时间")
+    public ResponseEntity<SchedulerStatistics> getSchedulerStatistics() {
+        return ResponseEntity.ok(agentTaskQueue.getStatistics());
+    }
+
+    @GetMapping("/statistics/contexts")
+    @Operation(summary = "获取会话上下文缓存统计信息", description = "获取会话上下文缓存的命中、未命中和淘汰次数")
+    public ResponseEntity<ContextStoreStatistics> getContextStatistics() {
+        return ResponseEntity.ok(contextStore.getStatistics());
+    }
+
+    /**
+     * Agent过载时返回429，并通过Retry-After告知客户端重试时间
+     */
+    @ExceptionHandler(AgentOverloadedException.class)
+    public <T> ResponseEntity<T> handleOverloaded(AgentOverloadedException e) {
+        log.warn(e.getMessage());
+        long retryAfterSeconds = Math.max(1, (e.getRetryAfterMillis() + 999) / 1000);
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+                .build();
+    }
+
+    /**
+     * 根据请求的时间预算计算截止时间，预算不超过管理器配置的超时时间
+     *
+     * @return 截止时间（epoch毫秒），0表示不限制
+     */
+    private long resolveDeadline(Long requestedTimeout) {
+        long timeout = agentProperties.getManager().getTimeout();
+        if (requestedTimeout != null && requestedTimeout > 0) {
+            timeout = timeout > 0 ? Math.min(requestedTimeout, timeout) : requestedTimeout;
+        }
+        return timeout > 0 ? System.currentTimeMillis() + timeout : 0;
+    }
+
+    /**
+     * 根据聊天请求构建消息
+     */
+    private Message buildChatMessage(String agentId, ChatRequest request) {
+        return Message.builder()
+                .id(MessageIds.nextId())
+                .type(MessageType.TEXT)
+                .content(request.getMessage())
+                .sender(request.getUserId())
+                .receiver(agentId)
+                .timestamp(LocalDateTime.now())
+                .status(Message.MessageStatus.CREATED)
+                .priority(Message.Priority.NORMAL)
+                .build();
+    }
+
     /**
      * 聊天请求DTO
      */
@@ -105,6 +372,7 @@ public class AgentController {
         private String message;
         private String userId;
         private String sessionId;
+        private Long timeoutMillis;
 
         // Getters and Setters
         public String getMessage() { return message; }
@@ -113,5 +381,61 @@ public class AgentController {
         public void setUserId(String userId) { this.userId = userId; }
         public String getSessionId() { return sessionId; }
         public void setSessionId(String sessionId) { this.sessionId = sessionId; }
+        public Long getTimeoutMillis() { return timeoutMillis; }
+        public void setTimeoutMillis(Long timeoutMillis) { this.timeoutMillis = timeoutMillis; }
+    }
+
+    /**
+     * 批量聊天请求DTO
+     */
+    public static class BatchChatRequest {
+        private List<String> messages;
+        private String userId;
+        private String sessionId;
+        private Message.Priority priority;
+        private Long timeoutMillis;
+
+        // Getters and Setters
+        public List<String> getMessages() { return messages; }
+        public void setMessages(List<String> messages) { this.messages = messages; }
+        public String getUserId() { return userId; }
+        public void setUserId(String userId) { this.userId = userId; }
+        public String getSessionId() { return sessionId; }
+        public void setSessionId(String sessionId) { this.sessionId = sessionId; }
+        public Message.Priority getPriority() { return priority; }
+        public void setPriority(Message.Priority priority) { this.priority = priority; }
+        public Long getTimeoutMillis() { return timeoutMillis; }
+        public void setTimeoutMillis(Long timeoutMillis) { this.timeoutMillis = timeoutMillis; }
+    }
+
+    /**
+     * 批量聊天单条结果DTO
+     */
+    public static class BatchChatResult {
+        private int index;
+        private boolean success;
+        private Message response;
+        private String error;
+
+        public static BatchChatResult of(int index, Message response) {
+            BatchChatResult result = new BatchChatResult();
+            result.index = index;
+            result.response = response;
+            result.success = response != null && response.getType() != MessageType.ERROR;
+            if (!result.success) {
+                result.error = response != null ? response.getContent() : "No response";
+            }
+            return result;
+        }
+
+        // Getters and Setters
+        public int getIndex() { return index; }
+        public void setIndex(int index) { this.index = index; }
+        public boolean isSuccess() { return success; }
+        public void setSuccess(boolean success) { this.success = success; }
+        public Message getResponse() { return response; }
+        public void setResponse(Message response) { this.response = response; }
+        public String getError() { return error; }
+        public void setError(String error) { this.error = error; }
     }
 }
\ No newline at end of file
@@ -0,0 +1,59 @@
+package com.lake.agent.api.controller;
+
+import com.lake.agent.core.exception.AgentException;
+import com.lake.agent.service.diagnostics.FlightRecordingService;
+import com.lake.agent.service.diagnostics.FlightRecordingStatus;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * 诊断控制器
+ * 提供JFR录制的启动、停止和状态查询
+ *
+ * @author Lake Intelligence Team
+ * @since 1.0.0
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/v1/diagnostics")
+@Tag(name = "Diagnostics API", description = "运行时诊断API")
+public class DiagnosticsController {
+
+    @Autowired
+    private FlightRecordingService flightRecordingService;
+
+    @GetMapping("/jfr")
+    @Operation(summary = "获取JFR录制状态", description = "返回当前进行中的录制，未在录制时返回204")
+    public ResponseEntity<FlightRecordingStatus> getRecording() {
+        FlightRecordingStatus status = flightRecordingService.getStatus();
+        return status != null ? ResponseEntity.ok(status) : ResponseEntity.noContent().build();
+    }
+
+    @PostMapping("/jfr/start")
+    @Operation(summary = "开始JFR录制", description = "以JDK配置为基础开始录制，并启用Agent处理和工具执行事件")
+    public ResponseEntity<FlightRecordingStatus> startRecording(
+            @Parameter(description = "JDK配置名称（default或profile）") @RequestParam(required = false) String settings) {
+        try {
+            return ResponseEntity.ok(flightRecordingService.start(settings));
+        } catch (AgentException e) {
+            log.warn("Unable to start JFR recording: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @PostMapping("/jfr/stop")
+    @Operation(summary = "停止JFR录制", description = "停止当前录制并写入文件，返回文件路径")
+    public ResponseEntity<FlightRecordingStatus> stopRecording() {
+        try {
+            return ResponseEntity.ok(flightRecordingService.stop());
+        } catch (AgentException e) {
+            log.warn("Unable to stop JFR recording: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
+}
\ No newline at end of file
@@ -1,7 +1,9 @@
 package com.lake.agent.api.controller;
 
 import com.lake.agent.core.context.AgentContext;
+import com.lake.agent.framework.AgentProperties;
 import com.lake.agent.tools.Tool;
+import com.lake.agent.tools.ToolExecutor;
 import com.lake.agent.tools.ToolInput;
 import com.lake.agent.tools.ToolResult;
 import io.swagger.v3.oas.annotations.Operation;
@@ -9,7 +11,6 @@ import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.context.ApplicationContext;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -30,14 +31,15 @@ import java.util.stream.Collectors;
 public class ToolController {
 
     @Autowired
-    private ApplicationContext applicationContext;
+    private ToolExecutor toolExecutor;
+
+    @Autowired
+    private AgentProperties agentProperties;
 
     @GetMapping
     @Operation(summary = "获取所有工具", description = "返回系统中所有可用的工具列表")
     public ResponseEntity<List<ToolInfo>> getAllTools() {
-        Map<String, Tool> tools = applicationContext.getBeansOfType(Tool.class);
-
-        List<ToolInfo> toolInfos = tools.values().stream()
+        List<ToolInfo> toolInfos = toolExecutor.getTools().stream()
                 .map(tool -> ToolInfo.builder()
                         .name(tool.getName())
                         .description(tool.getDescription())
@@ -54,12 +56,7 @@ public class ToolController {
     public ResponseEntity<ToolInfo> getToolInfo(
             @Parameter(description = "工具名称") @PathVariable String toolName) {
 
-        Map<String, Tool> tools = applicationContext.getBeansOfType(Tool.class);
-
-        Tool tool = tools.values().stream()
-                .filter(t -> toolName.equals(t.getName()))
-                .findFirst()
-                .orElse(null);
+        Tool tool = toolExecutor.getTool(toolName).orElse(null);
 
         if (tool == null) {
             return ResponseEntity.notFound().build();
@@ -81,12 +78,7 @@ public class ToolController {
             @Parameter(description = "工具名称") @PathVariable String toolName,
             @RequestBody ToolExecuteRequest request) {
 
-        Map<String, Tool> tools = applicationContext.getBeansOfType(Tool.class);
-
-        Tool tool = tools.values().stream()
-                .filter(t -> toolName.equals(t.getName()))
-                .findFirst()
-                .orElse(null);
+        Tool tool = toolExecutor.getTool(toolName).orElse(null);
 
         if (tool == null) {
             return ResponseEntity.notFound().build();
@@ -105,9 +97,10 @@ public class ToolController {
             AgentContext context = AgentContext.builder()
                     .sessionId(request.getSessionId())
                     .userId(request.getUserId())
+                    .deadline(resolveDeadline(request.getTimeoutMillis()))
                     .build();
 
-            ToolResult result = tool.execute(input, context);
+            ToolResult result = toolExecutor.execute(tool, input, context);
             return ResponseEntity.ok(result);
 
         } catch (Exception e) {
@@ -116,6 +109,19 @@ public class ToolController {
         }
     }
 
+    /**
+     * 根据请求的时间预算计算截止时间，预算不超过管理器配置的超时时间
+     *
+     * @return 截止时间（epoch毫秒），0表示不限制
+     */
+    private long resolveDeadline(Long requestedTimeout) {
+        long timeout = agentProperties.getManager().getTimeout();
+        if (requestedTimeout != null && requestedTimeout > 0) {
+            timeout = timeout > 0 ? Math.min(requestedTimeout, timeout) : requestedTimeout;
+        }
+        return timeout > 0 ? System.currentTimeMillis() + timeout : 0;
+    }
+
     /**
      * 工具信息DTO
      */
@@ -168,6 +174,7 @@ public class ToolController {
         private Map<String, Object> parameters;
         private String userId;
         private String sessionId;
+        private Long timeoutMillis;
 
         // Getters and Setters
         public Map<String, Object> getParameters() { return parameters; }
@@ -176,5 +183,7 @@ public class ToolController {
         public void setUserId(String userId) { this.userId = userId; }
         public String getSessionId() { return sessionId; }
         public void setSessionId(String sessionId) { this.sessionId = sessionId; }
+        public Long getTimeoutMillis() { return timeoutMillis; }
+        public void setTimeoutMillis(Long timeoutMillis) { this.timeoutMillis = timeoutMillis; }
     }
 }
\ No newline at end of file
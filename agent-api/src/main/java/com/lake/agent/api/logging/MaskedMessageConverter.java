@@ -0,0 +1,76 @@
+package com.lake.agent.api.logging;
+
+import ch.qos.logback.classic.pattern.ClassicConverter;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 脱敏并截断日志消息的转换器
+ * 用法：%maskedMsg{最大长度}，默认最大长度为512。先脱敏再截断，截断位置不会留下未脱敏的敏感值片段；
+ * 在编码阶段执行，配合异步Appender时不占用请求线程
+ *
+ * @author Lake Intelligence Team
+ * @since 1.0.0
+ */
+public class MaskedMessageConverter extends ClassicConverter {
+
+    private static final int DEFAULT_MAX_LENGTH = 512;
+    private static final String MASK = "****";
+
+    /**
+     * 需要脱敏的内容：API密钥、Bearer令牌和key/token/password/secret形式的键值对
+     */
+    private static final Pattern SENSITIVE = Pattern.compile(
+            "(sk-[A-Za-z0-9_-]{8,})"
+                    + "|(bearer\\s+)[A-Za-z0-9._~+/=-]+"
+                    + "|((?:api[_-]?key|token|password|secret)[\"']?\\s*[:=]\\s*[\"']?)[^\\s\"',;&}]+",
+            Pattern.CASE_INSENSITIVE);
+
+    private int maxLength = DEFAULT_MAX_LENGTH;
+
+    @Override
+    public void start() {
+        String option = getFirstOption();
+        if (option != null) {
+            try {
+                maxLength = Integer.parseInt(option.trim());
+            } catch (NumberFormatException e) {
+                addError("Invalid max length for maskedMsg: " + option);
+            }
+        }
+        super.start();
+    }
+
+    @Override
+    public String convert(ILoggingEvent event) {
+        String message = event.getFormattedMessage();
+        if (message == null) {
+            return "";
+        }
+
+        message = mask(message);
+        if (maxLength > 0 && message.length() > maxLength) {
+            message = message.substring(0, maxLength) + "...(" + message.length() + " chars)";
+        }
+        return message;
+    }
+
+    static String mask(String message) {
+        Matcher matcher = SENSITIVE.matcher(message);
+        if (!matcher.find()) {
+            return message;
+        }
+
+        StringBuilder sb = new StringBuilder(message.length());
+        do {
+            String prefix = matcher.group(2) != null ? matcher.group(2)
+                    : matcher.group(3) != null ? matcher.group(3)
+                    : "";
+            matcher.appendReplacement(sb, Matcher.quoteReplacement(prefix + MASK));
+        } while (matcher.find());
+        matcher.appendTail(sb);
+        return sb.toString();
+    }
+}
\ No newline at end of file
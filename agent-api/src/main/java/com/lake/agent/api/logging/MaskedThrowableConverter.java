@@ -0,0 +1,19 @@
+package com.lake.agent.api.logging;
+
+import ch.qos.logback.classic.spi.IThrowableProxy;
+import org.springframework.boot.logging.logback.ExtendedWhitespaceThrowableProxyConverter;
+
+/**
+ * 脱敏异常堆栈的转换器
+ * 用法：%maskedEx，输出格式与Spring Boot默认的%wEx一致，异常消息中的敏感值按{@link MaskedMessageConverter}的规则脱敏
+ *
+ * @author Lake Intelligence Team
+ * @since 1.0.0
+ */
+public class MaskedThrowableConverter extends ExtendedWhitespaceThrowableProxyConverter {
+
+    @Override
+    protected String throwableProxyToString(IThrowableProxy tp) {
+        return MaskedMessageConverter.mask(super.throwableProxyToString(tp));
+    }
+}
\ No newline at end of file
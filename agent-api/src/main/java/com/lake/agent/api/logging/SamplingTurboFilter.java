@@ -0,0 +1,63 @@
+package com.lake.agent.api.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 按日志类别采样的TurboFilter
+ * 对名称以指定前缀开头的Logger，按采样率丢弃不高于阈值级别的日志；WARN及以上级别始终保留。
+ * 在创建日志事件之前判定，被丢弃的日志不产生格式化和入队开销
+ *
+ * @author Lake Intelligence Team
+ * @since 1.0.0
+ */
+public class SamplingTurboFilter extends TurboFilter {
+
+    private String loggerName;
+    private double rate = 1.0;
+    private Level level = Level.INFO;
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level eventLevel, String format, Object[] params, Throwable t) {
+        // format为null表示isXxxEnabled()检查，不参与采样，避免同一条日志被采样两次
+        if (format == null || rate >= 1.0 || eventLevel.toInt() > level.toInt() || !matches(logger.getName())) {
+            return FilterReply.NEUTRAL;
+        }
+        return ThreadLocalRandom.current().nextDouble() < rate ? FilterReply.NEUTRAL : FilterReply.DENY;
+    }
+
+    private boolean matches(String name) {
+        return name.startsWith(loggerName)
+                && (name.length() == loggerName.length() || name.charAt(loggerName.length()) == '.');
+    }
+
+    @Override
+    public void start() {
+        if (loggerName == null || loggerName.isEmpty()) {
+            addError("No loggerName set for sampling filter " + getName());
+            return;
+        }
+        if (rate < 0 || rate > 1) {
+            addError("Sampling rate must be between 0 and 1: " + rate);
+            return;
+        }
+        super.start();
+    }
+
+    public void setLoggerName(String loggerName) {
+        this.loggerName = loggerName;
+    }
+
+    public void setRate(double rate) {
+        this.rate = rate;
+    }
+
+    public void setLevel(String level) {
+        this.level = Level.toLevel(level, Level.INFO);
+    }
+}
\ No newline at end of file
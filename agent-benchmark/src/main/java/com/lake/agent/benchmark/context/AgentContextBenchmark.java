@@ -0,0 +1,91 @@
+package com.lake.agent.benchmark.context;
+
+import com.lake.agent.core.context.AgentContext;
+import com.lake.agent.core.context.ContextKey;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Agent上下文分配与属性读取基准测试
+ * 对比改为延迟分配之前的实现{@link EagerAgentContext}与当前的{@link AgentContext}：
+ * create*测量创建一个未访问任何属性的上下文，*Attribute和*Key测量读取一个已设置的属性。
+ * 分配速率需要配合-prof gc运行，查看gc.alloc.rate.norm
+ *
+ * @author Lake Intelligence Team
+ * @since 1.0.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class AgentContextBenchmark {
+
+    private static final String TRACE = "traceId";
+
+    private static final ContextKey<String> TRACE_SLOT = ContextKey.register("benchmarkTraceId", String.class);
+
+    private static final ContextKey<String> TRACE_NAMED = ContextKey.of(TRACE, String.class);
+
+    private EagerAgentContext eager;
+    private AgentContext lazy;
+
+    @Setup
+    public void setUp() {
+        eager = new EagerAgentContext("session-1", "user-1", "agent-1");
+        eager.setAttribute(TRACE, "trace-1");
+
+        lazy = AgentContext.builder()
+                .sessionId("session-1")
+                .userId("user-1")
+                .agentId("agent-1")
+                .build();
+        lazy.setAttribute(TRACE, "trace-1");
+        lazy.put(TRACE_SLOT, "trace-1");
+    }
+
+    @Benchmark
+    public EagerAgentContext createEager() {
+        return new EagerAgentContext("session-1", "user-1", "agent-1");
+    }
+
+    @Benchmark
+    public AgentContext createLazy() {
+        return AgentContext.builder()
+                .sessionId("session-1")
+                .userId("user-1")
+                .agentId("agent-1")
+                .build();
+    }
+
+    @Benchmark
+    public String eagerAttribute() {
+        return eager.getAttribute(TRACE);
+    }
+
+    @Benchmark
+    public String lazyAttribute() {
+        return lazy.getAttribute(TRACE);
+    }
+
+    @Benchmark
+    public String lazyNamedKey() {
+        return lazy.get(TRACE_NAMED);
+    }
+
+    @Benchmark
+    public String lazySlotKey() {
+        return lazy.get(TRACE_SLOT);
+    }
+}
\ No newline at end of file
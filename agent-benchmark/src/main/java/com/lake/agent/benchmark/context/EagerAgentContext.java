@@ -0,0 +1,45 @@
+package com.lake.agent.benchmark.context;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 改为延迟分配之前的Agent上下文，作为基准测试的对照组
+ * 每个实例创建时分配三个ConcurrentHashMap，属性读取为未检查的类型转换
+ *
+ * @author Lake Intelligence Team
+ * @since 1.0.0
+ */
+class EagerAgentContext {
+
+    private final String sessionId;
+    private final String userId;
+    private final String agentId;
+    private final Map<String, Object> attributes = new ConcurrentHashMap<>();
+    private final Map<String, Object> sessionHistory = new ConcurrentHashMap<>();
+    private final Map<String, Object> configuration = new ConcurrentHashMap<>();
+
+    EagerAgentContext(String sessionId, String userId, String agentId) {
+        this.sessionId = sessionId;
+        this.userId = userId;
+        this.agentId = agentId;
+    }
+
+    @SuppressWarnings("unchecked")
+    <T> T getAttribute(String key) {
+        return (T) attributes.get(key);
+    }
+
+    void setAttribute(String key, Object value) {
+        attributes.put(key, value);
+    }
+
+    @SuppressWarnings("unchecked")
+    <T> T getConfig(String key) {
+        return (T) configuration.get(key);
+    }
+
+    String getAgentId() {
+        return agentId;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,59 @@
+package com.lake.agent.benchmark.id;
+
+import com.lake.agent.core.id.MessageIdGenerator;
+import com.lake.agent.core.id.RandomUuidGenerator;
+import com.lake.agent.core.id.TimeOrderedIdGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 消息ID生成基准测试
+ * 对比原有的UUID.randomUUID()与按时间排序的生成器，分别在单线程和全部CPU线程下测量，
+ * 多线程结果体现共享SecureRandom的竞争
+ *
+ * @author Lake Intelligence Team
+ * @since 1.0.0
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class MessageIdGeneratorBenchmark {
+
+    private final MessageIdGenerator randomUuid = new RandomUuidGenerator();
+    private final MessageIdGenerator timeOrdered = new TimeOrderedIdGenerator();
+
+    @Benchmark
+    public String randomUuid() {
+        return randomUuid.generate();
+    }
+
+    @Benchmark
+    public String timeOrdered() {
+        return timeOrdered.generate();
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public String randomUuidContended() {
+        return randomUuid.generate();
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public String timeOrderedContended() {
+        return timeOrdered.generate();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,130 @@
+package com.lake.agent.benchmark.llm;
+
+import com.lake.agent.core.id.MessageIds;
+import com.lake.agent.core.message.Message;
+import com.lake.agent.core.message.MessageType;
+import com.lake.agent.framework.AgentProperties;
+import com.lake.agent.service.LlmAgent;
+import com.lake.agent.service.llm.CompletionCache;
+import com.lake.agent.service.llm.LlmClient;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * LLM Agent吞吐量与延迟基准测试
+ * 在本地启动模拟模型服务，按latencyMillis延迟后返回固定的补全结果，LlmAgent通过base-url指向该服务。
+ * throughput每次调用同时发出256个请求并等待全部完成，结果为每秒完成的请求数；
+ * latency逐个发送请求，按采样统计单次往返延迟的分位数
+ *
+ * @author Lake Intelligence Team
+ * @since 1.0.0
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class LlmAgentBenchmark {
+
+    private static final int CONCURRENCY = 256;
+
+    private static final String COMPLETION = """
+            {"id":"chatcmpl-stub","object":"chat.completion","model":"stub-model",\
+            "choices":[{"index":0,"message":{"role":"assistant","content":"Hello from the stub model."},\
+            "finish_reason":"stop"}],\
+            "usage":{"prompt_tokens":12,"completion_tokens":6,"total_tokens":18}}""";
+
+    @Param({"0", "50"})
+    private long latencyMillis;
+
+    private DisposableServer server;
+    private LlmClient client;
+    private LlmAgent agent;
+
+    @Setup
+    public void setUp() {
+        Mono<Void> delay = latencyMillis > 0 ? Mono.delay(Duration.ofMillis(latencyMillis)).then() : Mono.empty();
+        server = HttpServer.create()
+                .host("127.0.0.1")
+                .port(0)
+                .route(routes -> routes.post("/chat/completions", (request, response) -> request.receive()
+                        .then()
+                        .then(delay)
+                        .then(response.header("Content-Type", "application/json")
+                                .sendString(Mono.just(COMPLETION))
+                                .then())))
+                .bindNow();
+
+        AgentProperties properties = new AgentProperties();
+        properties.getAi().setEnabled(true);
+        properties.getAi().getApiConfig().put("base-url", "http://127.0.0.1:" + server.port());
+        client = new LlmClient(properties, new DefaultListableBeanFactory().getBeanProvider(CompletionCache.class));
+        agent = new LlmAgent(client, properties);
+        agent.initialize();
+
+        Message response = agent.processAsync(createMessage(), null).join();
+        if (response.getType() == MessageType.ERROR) {
+            throw new IllegalStateException("Stub model call failed: " + response.getContent());
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        agent.destroy();
+        client.shutdown();
+        server.disposeNow();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    @OperationsPerInvocation(CONCURRENCY)
+    public void throughput(Blackhole blackhole) {
+        CompletableFuture<?>[] responses = new CompletableFuture<?>[CONCURRENCY];
+        for (int i = 0; i < CONCURRENCY; i++) {
+            responses[i] = agent.processAsync(createMessage(), null);
+        }
+        for (CompletableFuture<?> response : responses) {
+            blackhole.consume(response.join());
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public Message latency() {
+        return agent.processAsync(createMessage(), null).join();
+    }
+
+    private static Message createMessage() {
+        return Message.builder()
+                .id(MessageIds.nextId())
+                .type(MessageType.TEXT)
+                .content("Say hello")
+                .sender("benchmark")
+                .timestamp(LocalDateTime.now())
+                .priority(Message.Priority.NORMAL)
+                .status(Message.MessageStatus.CREATED)
+                .build();
+    }
+}
\ No newline at end of file
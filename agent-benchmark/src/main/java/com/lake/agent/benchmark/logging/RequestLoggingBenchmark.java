@@ -0,0 +1,152 @@
+package com.lake.agent.benchmark.logging;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.OutputStreamAppender;
+import com.lake.agent.core.AgentManager;
+import com.lake.agent.core.context.AgentContext;
+import com.lake.agent.core.id.MessageIds;
+import com.lake.agent.core.message.Message;
+import com.lake.agent.core.message.MessageType;
+import com.lake.agent.framework.AgentProperties;
+import com.lake.agent.framework.DefaultAgentManager;
+import com.lake.agent.service.AgentService;
+import com.lake.agent.service.SimpleAIAgent;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 请求日志开销基准测试
+ * 通过AgentService处理消息，每个请求输出一条lake.agent.request日志，对比三种日志配置下的吞吐量：
+ * OFF关闭日志；SYNC与默认环境一致，在请求线程上同步编码输出；
+ * ASYNC与prod环境一致，经8192容量的有界队列异步输出，队列满时丢弃而不阻塞。
+ * 日志写入空输出流，结果包含编码和追加器锁的开销，不包含终端I/O
+ *
+ * @author Lake Intelligence Team
+ * @since 1.0.0
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Threads(Threads.MAX)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class RequestLoggingBenchmark {
+
+    /**
+     * 与logback-spring.xml中的LAKE_LOG_PATTERN一致，去掉颜色并按默认的512字符截断消息
+     */
+    private static final String PATTERN =
+            "%d{yyyy-MM-dd HH:mm:ss.SSS} %5p [%15.15t] %-40.40logger{39} : %.-512msg%n%wEx";
+
+    public enum LoggingMode {
+        OFF, SYNC, ASYNC
+    }
+
+    @Param({"OFF", "SYNC", "ASYNC"})
+    private LoggingMode mode;
+
+    private DefaultAgentManager manager;
+    private AnnotationConfigApplicationContext applicationContext;
+    private AgentService agentService;
+    private String agentId;
+
+    @Setup
+    public void setUp() {
+        manager = new DefaultAgentManager(new AgentProperties());
+        SimpleAIAgent agent = new SimpleAIAgent();
+        manager.registerAgent(agent);
+        manager.start();
+        agentId = agent.getId();
+
+        applicationContext = new AnnotationConfigApplicationContext();
+        applicationContext.registerBean(AgentManager.class, () -> manager);
+        applicationContext.registerBean(AgentService.class);
+        applicationContext.refresh();
+        agentService = applicationContext.getBean(AgentService.class);
+
+        configureLogging();
+    }
+
+    @TearDown
+    public void tearDown() {
+        ((LoggerContext) LoggerFactory.getILoggerFactory()).reset();
+        applicationContext.close();
+        manager.shutdown();
+    }
+
+    @Benchmark
+    public Message processMessage() {
+        Message message = Message.builder()
+                .id(MessageIds.nextId())
+                .type(MessageType.TEXT)
+                .content("hello, what can you do?")
+                .sender("benchmark")
+                .receiver(agentId)
+                .timestamp(LocalDateTime.now())
+                .priority(Message.Priority.NORMAL)
+                .status(Message.MessageStatus.CREATED)
+                .build();
+        AgentContext context = AgentContext.builder().agentId(agentId).build();
+        return agentService.processMessage(agentId, message, context);
+    }
+
+    private void configureLogging() {
+        LoggerContext loggerContext = (LoggerContext) LoggerFactory.getILoggerFactory();
+        loggerContext.reset();
+
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(loggerContext);
+        encoder.setPattern(PATTERN);
+        encoder.setCharset(StandardCharsets.UTF_8);
+        encoder.start();
+
+        OutputStreamAppender<ILoggingEvent> sink = new OutputStreamAppender<>();
+        sink.setName("SINK");
+        sink.setContext(loggerContext);
+        sink.setEncoder(encoder);
+        sink.setOutputStream(OutputStream.nullOutputStream());
+        sink.start();
+
+        Appender<ILoggingEvent> appender = sink;
+        if (mode == LoggingMode.ASYNC) {
+            AsyncAppender async = new AsyncAppender();
+            async.setName("ASYNC_SINK");
+            async.setContext(loggerContext);
+            async.setQueueSize(8192);
+            async.setNeverBlock(true);
+            async.setIncludeCallerData(false);
+            async.addAppender(sink);
+            async.start();
+            appender = async;
+        }
+
+        Logger root = loggerContext.getLogger(Logger.ROOT_LOGGER_NAME);
+        root.setLevel(mode == LoggingMode.OFF ? Level.OFF : Level.INFO);
+        root.addAppender(appender);
+    }
+}
\ No newline at end of file
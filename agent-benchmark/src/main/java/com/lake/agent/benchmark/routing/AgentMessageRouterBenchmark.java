@@ -0,0 +1,154 @@
+package com.lake.agent.benchmark.routing;
+
+import com.lake.agent.core.AbstractAgent;
+import com.lake.agent.core.context.AgentContext;
+import com.lake.agent.core.id.MessageIds;
+import com.lake.agent.core.message.Message;
+import com.lake.agent.core.message.MessageType;
+import com.lake.agent.framework.AgentProperties;
+import com.lake.agent.framework.DefaultAgentManager;
+import com.lake.agent.framework.routing.AgentMessageRouter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Agent间消息路由吞吐量基准测试
+ * 每次调用向agents个Agent轮流投递一批消息并等待全部处理完成，结果为每秒处理的消息数。
+ * blocking=false时Agent以非阻塞方式处理，测量的是邮箱调度本身；
+ * blocking=true时处理提交到管理器的异步线程池，与生产环境中的普通Agent一致
+ *
+ * @author Lake Intelligence Team
+ * @since 1.0.0
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class AgentMessageRouterBenchmark {
+
+    private static final int BATCH = 1024;
+
+    @Param({"1", "16", "256"})
+    private int agents;
+
+    @Param({"false", "true"})
+    private boolean blocking;
+
+    private final AtomicLong handled = new AtomicLong();
+
+    private DefaultAgentManager manager;
+    private AgentMessageRouter router;
+    private String[] agentIds;
+
+    @Setup
+    public void setUp() {
+        AgentProperties properties = new AgentProperties();
+        properties.getManager().setMaxAgents(agents);
+        properties.getManager().getAsync().setQueueCapacity(BATCH * 4);
+
+        manager = new DefaultAgentManager(properties);
+        agentIds = new String[agents];
+        for (int i = 0; i < agents; i++) {
+            EchoAgent agent = new EchoAgent(i, blocking, handled);
+            manager.registerAgent(agent);
+            agentIds[i] = agent.getId();
+        }
+        manager.start();
+        router = new AgentMessageRouter(manager, properties);
+    }
+
+    @TearDown
+    public void tearDown() {
+        router.shutdown();
+        manager.shutdown();
+    }
+
+    /**
+     * 请求-应答：每条消息等待接收方的处理结果
+     */
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void request(Blackhole blackhole) {
+        CompletableFuture<?>[] replies = new CompletableFuture<?>[BATCH];
+        for (int i = 0; i < BATCH; i++) {
+            replies[i] = router.request(createMessage(agentIds[i % agents]), null);
+        }
+        for (CompletableFuture<?> reply : replies) {
+            blackhole.consume(reply.join());
+        }
+    }
+
+    /**
+     * 单向发送：不登记应答，等待所有消息被接收方处理
+     */
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void send() {
+        long target = handled.get() + BATCH;
+        for (int i = 0; i < BATCH; i++) {
+            router.send(createMessage(agentIds[i % agents]));
+        }
+        while (handled.get() < target) {
+            LockSupport.parkNanos(10_000);
+        }
+    }
+
+    private static Message createMessage(String receiver) {
+        return Message.builder()
+                .id(MessageIds.nextId())
+                .type(MessageType.TEXT)
+                .content("ping")
+                .sender("benchmark")
+                .receiver(receiver)
+                .timestamp(LocalDateTime.now())
+                .priority(Message.Priority.NORMAL)
+                .status(Message.MessageStatus.CREATED)
+                .build();
+    }
+
+    /**
+     * 原样回复的Agent，不含业务处理开销
+     */
+    static class EchoAgent extends AbstractAgent {
+
+        private final boolean blocking;
+        private final AtomicLong handled;
+
+        EchoAgent(int index, boolean blocking, AtomicLong handled) {
+            super("Echo Agent " + index, "Replies with the received content");
+            this.blocking = blocking;
+            this.handled = handled;
+        }
+
+        @Override
+        protected boolean isNonBlocking() {
+            return !blocking;
+        }
+
+        @Override
+        protected Message doProcess(Message message, AgentContext context) {
+            handled.incrementAndGet();
+            return createResponseMessage(message.getContent(), message);
+        }
+    }
+}
\ No newline at end of file
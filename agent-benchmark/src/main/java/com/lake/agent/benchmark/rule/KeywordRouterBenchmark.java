@@ -0,0 +1,102 @@
+package com.lake.agent.benchmark.rule;
+
+import com.lake.agent.service.rule.KeywordRouter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 关键词路由基准测试
+ * 对比编译后的{@link KeywordRouter}与逐条规则、逐个关键词调用contains的写法。
+ * 每条规则4个随机关键词，内容约300个字符；hit=true时内容末尾包含中间优先级规则的大写关键词，
+ * hit=false时没有规则命中，逐条检查的写法需要扫描全部关键词。
+ * 对照组只做一次小写转换，比原先每次检查都转换的写法更快
+ *
+ * @author Lake Intelligence Team
+ * @since 1.0.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class KeywordRouterBenchmark {
+
+    private static final int KEYWORDS_PER_RULE = 4;
+
+    private static final String FILLER = "could you please take a look at the latest report and tell me "
+            + "whether the numbers from last quarter still match what we discussed in the meeting, "
+            + "because the team wants to finalize the plan before the end of the week and share it ";
+
+    @Param({"10", "100", "1000"})
+    private int rules;
+
+    @Param({"true", "false"})
+    private boolean hit;
+
+    private String[] names;
+    private String[][] keywords;
+    private KeywordRouter<String> router;
+    private String content;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        names = new String[rules];
+        keywords = new String[rules][KEYWORDS_PER_RULE];
+        KeywordRouter.Builder<String> builder = KeywordRouter.builder();
+        // 按优先级从高到低生成，与对照组的检查顺序一致
+        for (int i = 0; i < rules; i++) {
+            for (int j = 0; j < KEYWORDS_PER_RULE; j++) {
+                keywords[i][j] = randomWord(random);
+            }
+            String name = "rule-" + i;
+            names[i] = name;
+            builder.rule(name, rules - i, (text, match) -> name, keywords[i]);
+        }
+        router = builder.fallback((text, match) -> "fallback").build();
+
+        content = hit
+                ? FILLER + keywords[rules / 2][KEYWORDS_PER_RULE - 1].toUpperCase(Locale.ROOT) + " today"
+                : FILLER + "today";
+    }
+
+    @Benchmark
+    public String compiledRouter() {
+        return router.route(content);
+    }
+
+    @Benchmark
+    public String naiveContains() {
+        String lower = content.toLowerCase();
+        for (int i = 0; i < keywords.length; i++) {
+            for (String keyword : keywords[i]) {
+                if (lower.contains(keyword)) {
+                    return names[i];
+                }
+            }
+        }
+        return "fallback";
+    }
+
+    private static String randomWord(Random random) {
+        char[] word = new char[6 + random.nextInt(4)];
+        for (int i = 0; i < word.length; i++) {
+            word[i] = (char) ('a' + random.nextInt(26));
+        }
+        return new String(word);
+    }
+}
\ No newline at end of file
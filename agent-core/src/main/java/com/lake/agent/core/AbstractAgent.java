@@ -1,14 +1,43 @@
 package com.lake.agent.core;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.lake.agent.core.cache.CacheableAgent;
+import com.lake.agent.core.cache.ResponseCache;
 import com.lake.agent.core.context.AgentContext;
+import com.lake.agent.core.exception.AgentOverloadedException;
+import com.lake.agent.core.execution.AgentActivator;
+import com.lake.agent.core.execution.AgentBulkhead;
+import com.lake.agent.core.execution.AgentExecutionListener;
+import com.lake.agent.core.execution.AgentTask;
+import com.lake.agent.core.execution.AgentWarmup;
+import com.lake.agent.core.execution.BulkheadStatistics;
+import com.lake.agent.core.execution.ProcessOutcome;
+import com.lake.agent.core.execution.WarmupReport;
+import com.lake.agent.core.id.MessageIds;
+import com.lake.agent.core.jfr.AgentProcessEvent;
 import com.lake.agent.core.message.Message;
 import com.lake.agent.core.message.MessageType;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 import java.time.LocalDateTime;
-import java.util.UUID;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Agent抽象基类
@@ -42,6 +71,67 @@ public abstract class AbstractAgent implements Agent {
      */
     protected volatile boolean available = false;
 
+    /**
+     * 异步处理线程池，由Agent管理器注入，未注入时使用公共线程池
+     */
+    @Getter(AccessLevel.NONE)
+    protected volatile Executor asyncExecutor;
+
+    /**
+     * 异步处理超时时间（毫秒），小于等于0表示不限制
+     */
+    @Getter(AccessLevel.NONE)
+    protected volatile long timeout = 0;
+
+    /**
+     * 批量处理时同时执行的最大消息数
+     */
+    @Getter(AccessLevel.NONE)
+    protected volatile int batchParallelism = 16;
+
+    /**
+     * 并发隔离舱，限制同时处理的请求数，为空时不限制
+     */
+    @Getter(AccessLevel.NONE)
+    protected volatile AgentBulkhead bulkhead;
+
+    /**
+     * 预热器，初始化后、对外可用前执行预热，为空时不预热
+     */
+    @Getter(AccessLevel.NONE)
+    protected volatile AgentWarmup warmup;
+
+    /**
+     * 最近一次预热的报告
+     */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    protected volatile WarmupReport warmupReport;
+
+    /**
+     * 执行监听器，由Agent管理器注入，为空时不采集
+     */
+    @Getter(AccessLevel.NONE)
+    protected volatile AgentExecutionListener executionListener;
+
+    /**
+     * 所属副本池的逻辑Agent ID，非副本时为空
+     */
+    @Getter(AccessLevel.NONE)
+    protected volatile String poolId;
+
+    /**
+     * 响应缓存，仅对实现了{@link CacheableAgent}的Agent生效，为空时不缓存
+     */
+    @Getter(AccessLevel.NONE)
+    protected volatile ResponseCache responseCache;
+
+    /**
+     * 激活器，由Agent管理器注入，处理消息前重新初始化已钝化或延迟注册的Agent，为空时不检查
+     */
+    @Getter(AccessLevel.NONE)
+    protected volatile AgentActivator activator;
+
     /**
      * 构造函数
      */
@@ -78,18 +168,402 @@ public abstract class AbstractAgent implements Agent {
 
     @Override
     public Message process(Message message, AgentContext context) {
-        if (!isAvailable()) {
+        AgentExecutionListener listener = this.executionListener;
+        AgentProcessEvent event = new AgentProcessEvent();
+        if (listener == null && !event.isEnabled()) {
+            return processGuarded(message, context);
+        }
+
+        String reportedId = getLogicalId();
+        if (listener != null) {
+            listener.onStart(reportedId, message);
+        }
+        event.begin();
+        long start = System.nanoTime();
+        ProcessOutcome outcome = ProcessOutcome.ERROR;
+        try {
+            Message response = processGuarded(message, context);
+            outcome = ProcessOutcome.of(response);
+            return response;
+        } catch (AgentOverloadedException e) {
+            outcome = ProcessOutcome.REJECTED;
+            throw e;
+        } finally {
+            long durationNanos = System.nanoTime() - start;
+            event.end();
+            if (event.shouldCommit()) {
+                event.agentId = reportedId;
+                event.messageType = message.getType() != null ? message.getType().name() : null;
+                event.outcome = outcome.name();
+                event.commit();
+            }
+            if (listener != null) {
+                listener.onComplete(reportedId, message, outcome, durationNanos);
+            }
+        }
+    }
+
+    /**
+     * 检查可用性、截止时间和并发限制后执行doProcess
+     */
+    private Message processGuarded(Message message, AgentContext context) {
+        if (!activate()) {
             log.warn("Agent {} is not available", getId());
-            return createErrorMessage("Agent is not available", message);
+            return createErrorMessage(ProcessOutcome.UNAVAILABLE.name(), "Agent is not available", message);
+        }
+
+        // 已过截止时间的请求不再开始处理
+        if (context != null && context.isDeadlineExceeded()) {
+            log.warn("Skipping message {} for agent {}: deadline exceeded", message.getId(), getId());
+            return createErrorMessage(ProcessOutcome.DEADLINE_EXCEEDED.name(),
+                    "Deadline exceeded before processing started", message);
+        }
+
+        // 命中缓存的请求不占用并发配额
+        ResponseCache cache = this.responseCache;
+        CacheableAgent cacheable = cache != null && this instanceof CacheableAgent agent && agent.isCacheable(message)
+                ? agent : null;
+        String cacheContent = null;
+        if (cacheable != null) {
+            cacheContent = cacheable.normalizeForCache(message.getContent());
+            Message cached = cache.get(getLogicalId(), message.getType(), cacheContent);
+            if (cached != null) {
+                return createCachedResponse(cached, message);
+            }
+        }
+
+        // 超出并发限制时抛出AgentOverloadedException，由调用方决定重试或返回429；等待时间不超过剩余预算
+        AgentBulkhead bulkhead = this.bulkhead;
+        if (bulkhead != null) {
+            bulkhead.acquire(getId(), context != null ? context.getRemainingMillis() : Long.MAX_VALUE);
         }
 
         try {
             log.debug("Processing message: {} for agent: {}", message.getId(), getId());
-            return doProcess(message, context);
+            long start = System.nanoTime();
+            Message response = doProcess(message, context);
+            if (cacheable != null && response != null && response.getType() != MessageType.ERROR
+                    && cacheable.isCacheable(message, response)) {
+                cache.put(getLogicalId(), message.getType(), cacheContent, response,
+                        cacheable.getResponseCacheTtl(), System.nanoTime() - start);
+            }
+            return response;
         } catch (Exception e) {
             log.error("Error processing message {} for agent {}", message.getId(), getId(), e);
             return createErrorMessage("Error processing message: " + e.getMessage(), message);
+        } finally {
+            if (bulkhead != null) {
+                bulkhead.release();
+            }
+        }
+    }
+
+    @Override
+    public CompletableFuture<Message> processAsync(Message message, AgentContext context) {
+        // 上下文设置了截止时间时使用剩余预算，否则使用管理器配置的超时时间
+        boolean hasDeadline = context != null && context.hasDeadline();
+        long timeoutMillis = hasDeadline ? context.getRemainingMillis() : this.timeout;
+        if (hasDeadline && timeoutMillis <= 0) {
+            log.warn("Skipping message {} for agent {}: deadline exceeded", message.getId(), getId());
+            return CompletableFuture.completedFuture(createErrorMessage(ProcessOutcome.DEADLINE_EXCEEDED.name(),
+                    "Deadline exceeded before processing started", message));
         }
+
+        if (isNonBlocking()) {
+            return processNonBlocking(message, context, timeoutMillis);
+        }
+
+        AgentTask task = new AgentTask(message, () -> process(message, context));
+        Executor executor = asyncExecutor != null ? asyncExecutor : ForkJoinPool.commonPool();
+
+        try {
+            executor.execute(task);
+        } catch (RejectedExecutionException e) {
+            log.warn("Agent {} rejected message {}: executor is saturated", getId(), message.getId());
+            return CompletableFuture.completedFuture(createErrorMessage("Agent is busy, please retry later", message));
+        }
+
+        if (timeoutMillis <= 0) {
+            return task.getResult();
+        }
+
+        return task.getResult()
+                .orTimeout(timeoutMillis, TimeUnit.MILLISECONDS)
+                .exceptionally(ex -> {
+                    Throwable cause = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+                    if (cause instanceof AgentOverloadedException overloaded) {
+                        throw overloaded;
+                    }
+                    if (cause instanceof TimeoutException) {
+                        task.cancel(true);
+                        log.warn("Processing message {} for agent {} timed out after {}ms",
+                                message.getId(), getId(), timeoutMillis);
+                        return createErrorMessage(ProcessOutcome.DEADLINE_EXCEEDED.name(),
+                                "Processing timed out after " + timeoutMillis + "ms", message);
+                    }
+                    log.error("Error processing message {} for agent {}", message.getId(), getId(), cause);
+                    return createErrorMessage("Error processing message: " + cause.getMessage(), message);
+                });
+    }
+
+    /**
+     * 以非阻塞方式处理消息，不占用异步线程池
+     * 与同步处理一样经过响应缓存和并发隔离舱，许可在处理完成或超时时释放；
+     * 非阻塞处理不等待许可，没有空闲许可时立即以{@link AgentOverloadedException}失败
+     */
+    private CompletableFuture<Message> processNonBlocking(Message message, AgentContext context, long timeoutMillis) {
+        AgentExecutionListener listener = this.executionListener;
+        String reportedId = getLogicalId();
+        if (listener != null) {
+            listener.onStart(reportedId, message);
+        }
+        AgentProcessEvent event = new AgentProcessEvent();
+        event.begin();
+        long start = System.nanoTime();
+
+        CompletableFuture<Message> result;
+        try {
+            result = processNonBlockingGuarded(message, context, timeoutMillis);
+        } catch (AgentOverloadedException e) {
+            result = CompletableFuture.failedFuture(e);
+        }
+
+        return result.handle((response, ex) -> {
+            if (ex == null) {
+                return response;
+            }
+            Throwable cause = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+            if (cause instanceof AgentOverloadedException overloaded) {
+                throw overloaded;
+            }
+            if (cause instanceof TimeoutException) {
+                log.warn("Processing message {} for agent {} timed out after {}ms",
+                        message.getId(), getId(), timeoutMillis);
+                return createErrorMessage(ProcessOutcome.DEADLINE_EXCEEDED.name(),
+                        "Processing timed out after " + timeoutMillis + "ms", message);
+            }
+            log.error("Error processing message {} for agent {}", message.getId(), getId(), cause);
+            return createErrorMessage("Error processing message: " + cause.getMessage(), message);
+        }).whenComplete((response, ex) -> {
+            ProcessOutcome outcome = ex != null ? ProcessOutcome.REJECTED : ProcessOutcome.of(response);
+            event.end();
+            if (event.shouldCommit()) {
+                event.agentId = reportedId;
+                event.messageType = message.getType() != null ? message.getType().name() : null;
+                event.outcome = outcome.name();
+                event.commit();
+            }
+            if (listener != null) {
+                listener.onComplete(reportedId, message, outcome, System.nanoTime() - start);
+            }
+        });
+    }
+
+    /**
+     * 检查可用性、响应缓存和并发限制后执行doProcessAsync
+     */
+    private CompletableFuture<Message> processNonBlockingGuarded(Message message, AgentContext context,
+                                                                 long timeoutMillis) {
+        if (!activate()) {
+            log.warn("Agent {} is not available", getId());
+            return CompletableFuture.completedFuture(
+                    createErrorMessage(ProcessOutcome.UNAVAILABLE.name(), "Agent is not available", message));
+        }
+
+        ResponseCache cache = this.responseCache;
+        CacheableAgent cacheable = cache != null && this instanceof CacheableAgent agent && agent.isCacheable(message)
+                ? agent : null;
+        String cacheContent = cacheable != null ? cacheable.normalizeForCache(message.getContent()) : null;
+        if (cacheable != null) {
+            Message cached = cache.get(getLogicalId(), message.getType(), cacheContent);
+            if (cached != null) {
+                return CompletableFuture.completedFuture(createCachedResponse(cached, message));
+            }
+        }
+
+        // 不在调用线程上等待许可
+        AgentBulkhead bulkhead = this.bulkhead;
+        if (bulkhead != null) {
+            bulkhead.acquire(getId(), 0);
+        }
+
+        long start = System.nanoTime();
+        CompletableFuture<Message> result;
+        try {
+            result = doProcessAsync(message, context);
+        } catch (Exception e) {
+            result = CompletableFuture.failedFuture(e);
+        }
+        if (timeoutMillis > 0) {
+            result = result.orTimeout(timeoutMillis, TimeUnit.MILLISECONDS);
+        }
+        return result.whenComplete((response, ex) -> {
+            if (bulkhead != null) {
+                bulkhead.release();
+            }
+            if (cacheable != null && response != null && response.getType() != MessageType.ERROR
+                    && cacheable.isCacheable(message, response)) {
+                cache.put(getLogicalId(), message.getType(), cacheContent, response,
+                        cacheable.getResponseCacheTtl(), System.nanoTime() - start);
+            }
+        });
+    }
+
+    /**
+     * 为批量中的单条消息创建上下文视图，截止时间为开始处理时刻加上每条消息的预算
+     */
+    private static AgentContext createItemContext(AgentContext context, long itemBudget) {
+        if (itemBudget <= 0) {
+            return context;
+        }
+        return context.forTurn(context.getAgentId(), System.currentTimeMillis() + itemBudget);
+    }
+
+    /**
+     * 通过激活器确保Agent可用，已钝化或延迟注册的Agent在此完成初始化
+     * 在执行监听器的onStart之后调用，管理器钝化时据此判断Agent是否正在处理请求
+     */
+    private boolean activate() {
+        AgentActivator activator = this.activator;
+        if (activator != null && !activator.activate(this)) {
+            return false;
+        }
+        return isAvailable();
+    }
+
+    /**
+     * 流式处理消息
+     * 默认实现将同步处理结果作为单个消息块返回，支持增量输出的子类可覆盖此方法
+     *
+     * @param message 输入消息
+     * @param context Agent执行上下文
+     * @return 处理结果消息块流
+     */
+    @Override
+    public Flux<Message> processStream(Message message, AgentContext context) {
+        return Mono.fromFuture(() -> processAsync(message, context))
+                .map(response -> markChunk(response, 0, true))
+                .flux();
+    }
+
+    /**
+     * 批量处理消息
+     * 默认实现以滑动窗口方式并行调用{@link #processAsync}，同时执行的消息数不超过batchParallelism，
+     * 窗口由已完成消息的回调推进，调用线程不会阻塞等待；
+     * 上下文中剩余的截止时间作为每条消息的处理预算，从该消息开始处理时计时，排在后面的消息不会因等待而超时。
+     * 能够合并调用开销的子类（如批量请求模型）可覆盖此方法
+     *
+     * @param messages 输入消息列表
+     * @param context  Agent执行上下文
+     * @return 与输入顺序一致的处理结果消息列表的Future
+     */
+    @Override
+    public CompletableFuture<List<Message>> processBatch(List<Message> messages, AgentContext context) {
+        long itemBudget = context != null && context.hasDeadline() ? Math.max(1, context.getRemainingMillis()) : 0;
+        return new BatchRun(messages, context, itemBudget).start();
+    }
+
+    /**
+     * 一次批量处理的执行状态
+     * 启动时按窗口大小发起消息，之后每完成一条消息归还一个名额并继续发起；
+     * drain以循环方式推进，同步完成的消息不会造成递归调用
+     */
+    private final class BatchRun {
+
+        private final List<Message> messages;
+        private final AgentContext context;
+        private final long itemBudget;
+        private final Message[] responses;
+        private final CompletableFuture<List<Message>> result = new CompletableFuture<>();
+        private final AtomicInteger wip = new AtomicInteger();
+        private final AtomicInteger permits;
+        private final AtomicInteger remaining;
+
+        /**
+         * 下一条待发起消息的下标，仅在持有wip的drain循环中访问
+         */
+        private int next;
+
+        BatchRun(List<Message> messages, AgentContext context, long itemBudget) {
+            this.messages = messages;
+            this.context = context;
+            this.itemBudget = itemBudget;
+            this.responses = new Message[messages.size()];
+            this.permits = new AtomicInteger(Math.max(1, batchParallelism));
+            this.remaining = new AtomicInteger(messages.size());
+        }
+
+        CompletableFuture<List<Message>> start() {
+            if (messages.isEmpty()) {
+                result.complete(new ArrayList<>());
+            } else {
+                drain();
+            }
+            return result;
+        }
+
+        private void drain() {
+            if (wip.getAndIncrement() != 0) {
+                return;
+            }
+            int missed = 1;
+            do {
+                while (next < messages.size() && permits.get() > 0) {
+                    permits.decrementAndGet();
+                    launch(next++);
+                }
+                missed = wip.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        private void launch(int index) {
+            Message message = messages.get(index);
+            CompletableFuture<Message> future;
+            try {
+                future = processAsync(message, createItemContext(context, itemBudget));
+            } catch (RuntimeException e) {
+                future = CompletableFuture.failedFuture(e);
+            }
+            future.whenComplete((response, ex) -> complete(index, response, ex));
+        }
+
+        private void complete(int index, Message response, Throwable ex) {
+            if (ex != null) {
+                Throwable cause = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+                log.error("Error processing batch message {} for agent {}", messages.get(index).getId(), getId(), cause);
+                response = createErrorMessage("Error processing message: " + cause.getMessage(), messages.get(index));
+            }
+            responses[index] = response;
+            if (remaining.decrementAndGet() == 0) {
+                result.complete(new ArrayList<>(Arrays.asList(responses)));
+            } else {
+                permits.incrementAndGet();
+                drain();
+            }
+        }
+    }
+
+    /**
+     * 是否以非阻塞方式处理异步请求
+     * 返回true时processAsync直接调用{@link #doProcessAsync}而不提交到异步线程池，
+     * 适用于基于非阻塞I/O的子类（如调用远程模型服务），并发请求数不再受线程数限制
+     *
+     * @return true如果以非阻塞方式处理，否则false
+     */
+    protected boolean isNonBlocking() {
+        return false;
+    }
+
+    /**
+     * 非阻塞的消息处理逻辑，仅在{@link #isNonBlocking()}返回true时由processAsync调用
+     * 默认实现在调用线程上执行doProcess
+     *
+     * @param message 输入消息
+     * @param context Agent执行上下文
+     * @return 处理结果的Future
+     */
+    protected CompletableFuture<Message> doProcessAsync(Message message, AgentContext context) {
+        return CompletableFuture.completedFuture(doProcess(message, context));
     }
 
     /**
@@ -101,6 +575,27 @@ public abstract class AbstractAgent implements Agent {
      */
     protected abstract Message doProcess(Message message, AgentContext context);
 
+    /**
+     * 获取并发隔离统计信息
+     *
+     * @return 统计信息，未启用并发限制时返回null
+     */
+    @JsonIgnore
+    public BulkheadStatistics getBulkheadStatistics() {
+        AgentBulkhead bulkhead = this.bulkhead;
+        return bulkhead != null ? bulkhead.getStatistics() : null;
+    }
+
+    /**
+     * 获取最近一次预热的报告
+     *
+     * @return 预热报告，未预热时返回null
+     */
+    @JsonIgnore
+    public WarmupReport getWarmupReport() {
+        return warmupReport;
+    }
+
     @Override
     public boolean isAvailable() {
         return available;
@@ -110,6 +605,7 @@ public abstract class AbstractAgent implements Agent {
     public void initialize() {
         log.info("Initializing agent: {}", getId());
         doInitialize();
+        warmUp();
         this.available = true;
         log.info("Agent {} initialized successfully", getId());
     }
@@ -129,6 +625,60 @@ public abstract class AbstractAgent implements Agent {
         // 默认实现为空
     }
 
+    /**
+     * 创建预热用的合成消息
+     * 默认根据配置的消息内容生成，子类可覆盖以提供更贴近真实负载的消息
+     *
+     * @return 合成消息列表
+     */
+    protected List<Message> createWarmupMessages() {
+        AgentWarmup warmup = this.warmup;
+        List<Message> messages = new ArrayList<>();
+        if (warmup == null) {
+            return messages;
+        }
+        for (String content : warmup.getMessages()) {
+            Map<String, Object> metadata = new HashMap<>();
+            metadata.put(Message.METADATA_WARMUP, true);
+            messages.add(Message.builder()
+                    .id(MessageIds.nextId())
+                    .type(MessageType.TEXT)
+                    .content(content)
+                    .sender(Message.METADATA_WARMUP)
+                    .receiver(getId())
+                    .timestamp(LocalDateTime.now())
+                    .status(Message.MessageStatus.CREATED)
+                    .priority(Message.Priority.LOW)
+                    .metadata(metadata)
+                    .build());
+        }
+        return messages;
+    }
+
+    /**
+     * 预热：将合成消息直接交给doProcess处理，直到处理时间稳定或预算耗尽
+     */
+    private void warmUp() {
+        AgentWarmup warmup = this.warmup;
+        if (warmup == null) {
+            return;
+        }
+        List<Message> messages = createWarmupMessages();
+        if (messages.isEmpty()) {
+            return;
+        }
+
+        AgentContext context = AgentContext.builder().agentId(getId()).build();
+        WarmupReport report = warmup.run(messages, message -> doProcess(message, context));
+        this.warmupReport = report;
+        log.info("Agent {} warmed up in {}ms over {} rounds: {}us -> {}us per message{}{}",
+                getId(), report.getDurationMillis(), report.getRounds(),
+                String.format("%.1f", report.getInitialLatencyMicros()),
+                String.format("%.1f", report.getFinalLatencyMicros()),
+                report.isStabilized() ? "" : " (budget exhausted before stabilizing)",
+                report.getFailures() > 0 ? ", " + report.getFailures() + " failures" : "");
+    }
+
     /**
      * 具体的销毁逻辑，由子类实现
      */
@@ -142,7 +692,7 @@ public abstract class AbstractAgent implements Agent {
      * @return Agent ID
      */
     protected String generateId() {
-        return UUID.randomUUID().toString();
+        return MessageIds.nextId();
     }
 
     /**
@@ -154,7 +704,7 @@ public abstract class AbstractAgent implements Agent {
      */
     protected Message createErrorMessage(String errorMsg, Message originalMessage) {
         return Message.builder()
-                .id(UUID.randomUUID().toString())
+                .id(MessageIds.nextId())
                 .type(MessageType.ERROR)
                 .content(errorMsg)
                 .sender(getId())
@@ -165,6 +715,22 @@ public abstract class AbstractAgent implements Agent {
                 .build();
     }
 
+    /**
+     * 创建带错误代码的错误消息
+     *
+     * @param errorCode       错误代码，写入元数据{@link Message#METADATA_ERROR_CODE}
+     * @param errorMsg        错误信息
+     * @param originalMessage 原始消息
+     * @return 错误消息
+     */
+    protected Message createErrorMessage(String errorCode, String errorMsg, Message originalMessage) {
+        Message error = createErrorMessage(errorMsg, originalMessage);
+        Map<String, Object> metadata = new HashMap<>();
+        metadata.put(Message.METADATA_ERROR_CODE, errorCode);
+        error.setMetadata(metadata);
+        return error;
+    }
+
     /**
      * 创建响应消息
      *
@@ -174,7 +740,7 @@ public abstract class AbstractAgent implements Agent {
      */
     protected Message createResponseMessage(String content, Message originalMessage) {
         return Message.builder()
-                .id(UUID.randomUUID().toString())
+                .id(MessageIds.nextId())
                 .type(MessageType.RESPONSE)
                 .content(content)
                 .sender(getId())
@@ -184,4 +750,70 @@ public abstract class AbstractAgent implements Agent {
                 .priority(originalMessage.getPriority())
                 .build();
     }
+
+    /**
+     * 基于缓存的响应模板创建响应，使用新的消息ID、时间戳和接收方
+     *
+     * @param cached          缓存的响应模板
+     * @param originalMessage 原始消息
+     * @return 响应消息
+     */
+    protected Message createCachedResponse(Message cached, Message originalMessage) {
+        Map<String, Object> metadata = cached.getMetadata() != null
+                ? new HashMap<>(cached.getMetadata())
+                : new HashMap<>();
+        metadata.put(Message.METADATA_CACHED, true);
+        return Message.builder()
+                .id(MessageIds.nextId())
+                .type(cached.getType())
+                .content(cached.getContent())
+                .sender(getId())
+                .receiver(originalMessage.getSender())
+                .timestamp(LocalDateTime.now())
+                .metadata(metadata)
+                .status(Message.MessageStatus.CREATED)
+                .priority(originalMessage.getPriority())
+                .build();
+    }
+
+    /**
+     * 获取用于统计和缓存的逻辑Agent ID，副本返回所属副本池的ID
+     *
+     * @return 逻辑Agent ID
+     */
+    private String getLogicalId() {
+        String pool = poolId;
+        return pool != null ? pool : getId();
+    }
+
+    /**
+     * 创建流式响应消息块
+     *
+     * @param content         部分响应内容
+     * @param originalMessage 原始消息
+     * @param index           消息块序号
+     * @param last            是否为最后一块
+     * @return 响应消息块
+     */
+    protected Message createChunkMessage(String content, Message originalMessage, int index, boolean last) {
+        return markChunk(createResponseMessage(content, originalMessage), index, last);
+    }
+
+    /**
+     * 在消息元数据中标记消息块信息
+     *
+     * @param message 消息
+     * @param index   消息块序号
+     * @param last    是否为最后一块
+     * @return 标记后的消息
+     */
+    protected Message markChunk(Message message, int index, boolean last) {
+        Map<String, Object> metadata = message.getMetadata() != null
+                ? new HashMap<>(message.getMetadata())
+                : new HashMap<>();
+        metadata.put(Message.METADATA_CHUNK_INDEX, index);
+        metadata.put(Message.METADATA_LAST_CHUNK, last);
+        message.setMetadata(metadata);
+        return message;
+    }
 }
\ No newline at end of file
@@ -2,6 +2,10 @@ package com.lake.agent.core;
 
 import com.lake.agent.core.message.Message;
 import com.lake.agent.core.context.AgentContext;
+import reactor.core.publisher.Flux;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * 核心Agent接口
@@ -42,6 +46,37 @@ public interface Agent {
      */
     Message process(Message message, AgentContext context);
 
+    /**
+     * 异步处理消息
+     * 处理在Agent管理器提供的线程池中执行，超时后取消并返回错误消息
+     *
+     * @param message 输入消息
+     * @param context Agent执行上下文
+     * @return 处理结果消息的Future
+     */
+    CompletableFuture<Message> processAsync(Message message, AgentContext context);
+
+    /**
+     * 流式处理消息
+     * 以多个部分内容的消息块返回处理结果，最后一块的元数据中标记{@link Message#METADATA_LAST_CHUNK}
+     *
+     * @param message 输入消息
+     * @param context Agent执行上下文
+     * @return 处理结果消息块流
+     */
+    Flux<Message> processStream(Message message, AgentContext context);
+
+    /**
+     * 批量处理消息
+     * 各消息相互独立，单条消息处理失败时对应位置返回错误消息，不影响其他消息；
+     * 实现不应阻塞调用线程，以免在Agent的处理线程上调用时占满线程池
+     *
+     * @param messages 输入消息列表
+     * @param context  Agent执行上下文，其中的截止时间作为每条消息各自的处理预算
+     * @return 与输入顺序一致的处理结果消息列表的Future
+     */
+    CompletableFuture<List<Message>> processBatch(List<Message> messages, AgentContext context);
+
     /**
      * 检查Agent是否可用
      *
@@ -0,0 +1,52 @@
+package com.lake.agent.core;
+
+/**
+ * Agent工厂
+ * 为同一个逻辑Agent创建多个相互独立的副本，由Agent管理器组成副本池统一对外提供服务
+ *
+ * @author Lake Intelligence Team
+ * @since 1.0.0
+ */
+public interface AgentFactory {
+
+    /**
+     * 获取逻辑Agent ID，副本池以该ID注册
+     *
+     * @return 逻辑Agent ID
+     */
+    String getAgentId();
+
+    /**
+     * 获取逻辑Agent名称
+     *
+     * @return Agent名称
+     */
+    default String getName() {
+        return getAgentId();
+    }
+
+    /**
+     * 获取逻辑Agent描述
+     *
+     * @return Agent描述
+     */
+    default String getDescription() {
+        return null;
+    }
+
+    /**
+     * 获取初始副本数
+     *
+     * @return 副本数，小于等于0时使用全局配置
+     */
+    default int getReplicas() {
+        return 0;
+    }
+
+    /**
+     * 创建一个新的Agent副本，副本由副本池负责初始化和销毁
+     *
+     * @return Agent副本
+     */
+    Agent create();
+}
\ No newline at end of file
@@ -1,6 +1,10 @@
 package com.lake.agent.core;
 
+import com.lake.agent.core.cache.ResponseCacheStatistics;
+
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -43,6 +47,21 @@ public interface AgentManager {
      */
     List<Agent> findAgentsByName(String name);
 
+    /**
+     * 根据名称分页查找Agent
+     *
+     * @param name   Agent名称
+     * @param offset 起始位置
+     * @param limit  最大返回数量
+     * @return 匹配的Agent列表
+     */
+    default List<Agent> findAgentsByName(String name, int offset, int limit) {
+        List<Agent> agents = findAgentsByName(name);
+        int from = Math.min(Math.max(0, offset), agents.size());
+        int to = Math.min(agents.size(), from + Math.max(0, limit));
+        return agents.subList(from, to);
+    }
+
     /**
      * 获取所有已注册的Agent
      *
@@ -57,6 +76,22 @@ public interface AgentManager {
      */
     List<Agent> getAvailableAgents();
 
+    /**
+     * 获取Agent注册表快照
+     *
+     * @return 当前的不可变快照
+     */
+    AgentRegistrySnapshot getSnapshot();
+
+    /**
+     * 获取各Agent的响应缓存统计信息
+     *
+     * @return Agent ID到统计信息的映射，未启用响应缓存时为空
+     */
+    default Map<String, ResponseCacheStatistics> getResponseCacheStatistics() {
+        return Collections.emptyMap();
+    }
+
     /**
      * 检查Agent是否已注册
      *
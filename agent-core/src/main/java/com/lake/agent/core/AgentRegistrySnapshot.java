@@ -0,0 +1,103 @@
+package com.lake.agent.core;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Predicate;
+
+/**
+ * Agent注册表快照
+ * 不可变对象，在Agent注册、注销和生命周期状态变化时整体替换；
+ * 读取方直接使用快照中的列表和计数，无需复制注册表。版本号在进程内单调递增，
+ * 与进程启动时生成的随机纪元组合为{@link #getETag() ETag}，重启后或不同实例之间不会重复
+ *
+ * @author Lake Intelligence Team
+ * @since 1.0.0
+ */
+public final class AgentRegistrySnapshot {
+
+    /**
+     * 空注册表快照
+     */
+    public static final AgentRegistrySnapshot EMPTY = new AgentRegistrySnapshot(0, Collections.emptyList());
+
+    /**
+     * 进程启动纪元，区分重启前后以及不同实例生成的相同版本号
+     */
+    private static final String EPOCH = Long.toHexString(UUID.randomUUID().getMostSignificantBits());
+
+    private final long version;
+    private final List<Agent> agents;
+    private final List<Agent> availableAgents;
+
+    /**
+     * 构造函数
+     *
+     * @param version 快照版本号
+     * @param agents  所有已注册的Agent
+     */
+    public AgentRegistrySnapshot(long version, Collection<Agent> agents) {
+        this(version, agents, Agent::isAvailable);
+    }
+
+    /**
+     * 构造函数
+     *
+     * @param version     快照版本号
+     * @param agents      所有已注册的Agent
+     * @param isAvailable 判断Agent是否对外可用
+     */
+    public AgentRegistrySnapshot(long version, Collection<Agent> agents, Predicate<Agent> isAvailable) {
+        this.version = version;
+        List<Agent> all = new ArrayList<>(agents);
+        List<Agent> available = new ArrayList<>(all.size());
+        for (Agent agent : all) {
+            if (isAvailable.test(agent)) {
+                available.add(agent);
+            }
+        }
+        this.agents = Collections.unmodifiableList(all);
+        this.availableAgents = Collections.unmodifiableList(available);
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * 获取可用作HTTP ETag的快照标识
+     *
+     * @return 启动纪元和版本号的组合
+     */
+    public String getETag() {
+        return EPOCH + "-" + version;
+    }
+
+    /**
+     * 获取所有已注册的Agent
+     *
+     * @return 不可修改的Agent列表
+     */
+    public List<Agent> getAgents() {
+        return agents;
+    }
+
+    /**
+     * 获取快照生成时可用的Agent
+     *
+     * @return 不可修改的Agent列表
+     */
+    public List<Agent> getAvailableAgents() {
+        return availableAgents;
+    }
+
+    public int getTotalCount() {
+        return agents.size();
+    }
+
+    public int getAvailableCount() {
+        return availableAgents.size();
+    }
+}
\ No newline at end of file
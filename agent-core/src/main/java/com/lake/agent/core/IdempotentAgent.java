@@ -0,0 +1,26 @@
+package com.lake.agent.core;
+
+import com.lake.agent.core.context.AgentContext;
+import com.lake.agent.core.message.Message;
+
+/**
+ * 幂等的Agent
+ * 处理相同请求没有额外副作用，合并键相同的并发请求可以共享一次处理，每个调用方获得各自的响应消息
+ *
+ * @author Lake Intelligence Team
+ * @since 1.0.0
+ */
+public interface IdempotentAgent extends Agent {
+
+    /**
+     * 计算请求合并键，默认由消息类型和内容组成
+     * 响应还依赖于上下文（如会话历史）的Agent应将其纳入合并键，或在无法合并时返回null
+     *
+     * @param message 消息
+     * @param context 上下文
+     * @return 合并键，返回null时不合并
+     */
+    default String getCoalescingKey(Message message, AgentContext context) {
+        return message.getType() + ":" + message.getContent();
+    }
+}
\ No newline at end of file
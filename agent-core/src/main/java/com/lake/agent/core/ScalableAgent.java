@@ -0,0 +1,35 @@
+package com.lake.agent.core;
+
+import java.util.List;
+
+/**
+ * 可伸缩的Agent
+ * 由多个副本组成，副本数可在运行时调整
+ *
+ * @author Lake Intelligence Team
+ * @since 1.0.0
+ */
+public interface ScalableAgent extends Agent {
+
+    /**
+     * 获取当前副本数
+     *
+     * @return 副本数
+     */
+    int getReplicaCount();
+
+    /**
+     * 获取当前所有副本
+     *
+     * @return 副本列表
+     */
+    List<Agent> getReplicas();
+
+    /**
+     * 调整副本数
+     * 新增副本初始化后才接收请求；被移除的副本不再接收新请求，在处理中的请求完成后销毁
+     *
+     * @param replicas 目标副本数
+     */
+    void resize(int replicas);
+}
\ No newline at end of file
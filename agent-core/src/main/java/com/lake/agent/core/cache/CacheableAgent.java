@@ -0,0 +1,78 @@
+package com.lake.agent.core.cache;
+
+import com.lake.agent.core.Agent;
+import com.lake.agent.core.message.Message;
+
+import java.util.Locale;
+
+/**
+ * 可缓存响应的Agent
+ * 实现该接口表示对相同类型、规范化后相同内容的消息总是返回相同响应，
+ * 启用响应缓存时Agent管理器会为其注入{@link ResponseCache}
+ *
+ * @author Lake Intelligence Team
+ * @since 1.0.0
+ */
+public interface CacheableAgent extends Agent {
+
+    /**
+     * 判断消息的响应是否可缓存，默认全部可缓存
+     * 在查找缓存前调用，应只做廉价的检查；需要处理结果才能判断的情况由{@link #isCacheable(Message, Message)}决定
+     *
+     * @param message 消息
+     * @return true如果可缓存，否则false
+     */
+    default boolean isCacheable(Message message) {
+        return true;
+    }
+
+    /**
+     * 判断处理结果是否写入缓存，默认全部写入
+     * 在未命中缓存、处理完成后调用，可根据处理结果判断，无需重复处理过程中已完成的计算
+     *
+     * @param message  消息
+     * @param response 处理结果
+     * @return true如果写入缓存，否则false
+     */
+    default boolean isCacheable(Message message, Message response) {
+        return true;
+    }
+
+    /**
+     * 将消息内容规范化为缓存键，默认去除首尾空白、合并连续空白并转为小写。
+     * 响应依赖内容原文（如回显内容）的Agent应覆盖此方法或在{@link #isCacheable}中排除这类消息
+     *
+     * @param content 消息内容
+     * @return 规范化后的内容
+     */
+    default String normalizeForCache(String content) {
+        if (content == null) {
+            return "";
+        }
+
+        StringBuilder sb = new StringBuilder(content.length());
+        boolean pendingSpace = false;
+        for (int i = 0; i < content.length(); i++) {
+            char c = content.charAt(i);
+            if (Character.isWhitespace(c)) {
+                pendingSpace = sb.length() > 0;
+                continue;
+            }
+            if (pendingSpace) {
+                sb.append(' ');
+                pendingSpace = false;
+            }
+            sb.append(c);
+        }
+        return sb.toString().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * 缓存条目的存活时间（毫秒），小于等于0时使用管理器配置的默认值
+     *
+     * @return 存活时间
+     */
+    default long getResponseCacheTtl() {
+        return 0;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,191 @@
+package com.lake.agent.core.cache;
+
+import com.lake.agent.core.message.Message;
+import com.lake.agent.core.message.MessageType;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Agent响应缓存
+ * 以Agent ID、消息类型和规范化内容为键，按最近最少使用淘汰超出容量的条目，读取时丢弃过期条目。
+ * 缓存的是响应模板，每次命中由调用方生成新的消息ID、时间戳和接收方
+ *
+ * @author Lake Intelligence Team
+ * @since 1.0.0
+ */
+public class ResponseCache {
+
+    private final long defaultTtlMillis;
+    private final Map<CacheKey, CacheEntry> entries;
+    private final ConcurrentMap<String, Counters> counters = new ConcurrentHashMap<>();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * 构造函数
+     *
+     * @param maxEntries       最大缓存条目数
+     * @param defaultTtlMillis 默认存活时间（毫秒）
+     */
+    public ResponseCache(int maxEntries, long defaultTtlMillis) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("maxEntries must be positive: " + maxEntries);
+        }
+        this.defaultTtlMillis = defaultTtlMillis;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<CacheKey, CacheEntry> eldest) {
+                if (size() > maxEntries) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * 查找缓存的响应
+     *
+     * @param agentId 逻辑Agent ID
+     * @param type    消息类型
+     * @param content 规范化后的消息内容
+     * @return 缓存的响应模板，不存在或已过期时返回null；调用方不得修改
+     */
+    public Message get(String agentId, MessageType type, String content) {
+        CacheKey key = new CacheKey(agentId, type, content);
+        CacheEntry entry;
+        synchronized (entries) {
+            entry = entries.get(key);
+            if (entry != null && entry.expiresAt <= System.currentTimeMillis()) {
+                entries.remove(key);
+                entry = null;
+            }
+        }
+
+        Counters agentCounters = counters(agentId);
+        if (entry != null) {
+            agentCounters.hits.increment();
+            return entry.response;
+        }
+        agentCounters.misses.increment();
+        return null;
+    }
+
+    /**
+     * 缓存响应
+     *
+     * @param agentId       逻辑Agent ID
+     * @param type          消息类型
+     * @param content       规范化后的消息内容
+     * @param response      响应
+     * @param ttlMillis     存活时间（毫秒），小于等于0时使用默认值
+     * @param durationNanos 生成响应的耗时，用于估算命中节省的时间
+     */
+    public void put(String agentId, MessageType type, String content, Message response, long ttlMillis,
+                    long durationNanos) {
+        long ttl = ttlMillis > 0 ? ttlMillis : defaultTtlMillis;
+        if (ttl <= 0) {
+            return;
+        }
+
+        Counters agentCounters = counters(agentId);
+        agentCounters.stores.increment();
+        agentCounters.storeNanos.add(durationNanos);
+
+        CacheEntry entry = new CacheEntry(copy(response), System.currentTimeMillis() + ttl);
+        synchronized (entries) {
+            entries.put(new CacheKey(agentId, type, content), entry);
+        }
+    }
+
+    /**
+     * 移除Agent的全部缓存条目和统计
+     *
+     * @param agentId 逻辑Agent ID
+     */
+    public void invalidate(String agentId) {
+        synchronized (entries) {
+            entries.keySet().removeIf(key -> key.agentId().equals(agentId));
+        }
+        counters.remove(agentId);
+    }
+
+    /**
+     * 获取当前缓存条目数
+     *
+     * @return 条目数
+     */
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    /**
+     * 获取因容量不足被淘汰的条目数
+     *
+     * @return 淘汰数
+     */
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    /**
+     * 获取各Agent的缓存统计信息
+     *
+     * @return Agent ID到统计信息的映射
+     */
+    public Map<String, ResponseCacheStatistics> getStatistics() {
+        Map<String, ResponseCacheStatistics> result = new HashMap<>();
+        counters.forEach((agentId, agentCounters) -> {
+            long hits = agentCounters.hits.sum();
+            long misses = agentCounters.misses.sum();
+            long stores = agentCounters.stores.sum();
+            double averageMissMillis = stores > 0 ? agentCounters.storeNanos.sum() / 1_000_000.0 / stores : 0;
+            result.put(agentId, ResponseCacheStatistics.builder()
+                    .hits(hits)
+                    .misses(misses)
+                    .hitRatio(hits + misses > 0 ? (double) hits / (hits + misses) : 0)
+                    .averageMissMillis(averageMissMillis)
+                    .savedMillis(Math.round(hits * averageMissMillis))
+                    .build());
+        });
+        return result;
+    }
+
+    private Counters counters(String agentId) {
+        return counters.computeIfAbsent(agentId, id -> new Counters());
+    }
+
+    private static Message copy(Message response) {
+        return Message.builder()
+                .id(response.getId())
+                .type(response.getType())
+                .content(response.getContent())
+                .sender(response.getSender())
+                .receiver(response.getReceiver())
+                .timestamp(response.getTimestamp())
+                .metadata(response.getMetadata() != null ? new HashMap<>(response.getMetadata()) : null)
+                .priority(response.getPriority())
+                .status(response.getStatus())
+                .build();
+    }
+
+    private record CacheKey(String agentId, MessageType type, String content) {
+    }
+
+    private record CacheEntry(Message response, long expiresAt) {
+    }
+
+    private static final class Counters {
+        private final LongAdder hits = new LongAdder();
+        private final LongAdder misses = new LongAdder();
+        private final LongAdder stores = new LongAdder();
+        private final LongAdder storeNanos = new LongAdder();
+    }
+}
\ No newline at end of file
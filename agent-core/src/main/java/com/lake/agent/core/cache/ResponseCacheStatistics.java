@@ -0,0 +1,44 @@
+package com.lake.agent.core.cache;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 单个Agent的响应缓存统计信息
+ *
+ * @author Lake Intelligence Team
+ * @since 1.0.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResponseCacheStatistics {
+
+    /**
+     * 命中次数
+     */
+    private long hits;
+
+    /**
+     * 未命中次数
+     */
+    private long misses;
+
+    /**
+     * 命中率
+     */
+    private double hitRatio;
+
+    /**
+     * 未命中时的平均处理时间（毫秒）
+     */
+    private double averageMissMillis;
+
+    /**
+     * 估算节省的处理时间（毫秒），按命中次数乘以未命中时的平均处理时间计算
+     */
+    private long savedMillis;
+}
\ No newline at end of file
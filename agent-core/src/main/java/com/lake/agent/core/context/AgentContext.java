@@ -1,26 +1,39 @@
 package com.lake.agent.core.context;
 
-import lombok.AllArgsConstructor;
+import com.lake.agent.core.message.Message;
+import lombok.AccessLevel;
 import lombok.Builder;
-import lombok.Data;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Agent执行上下文
- * 维护Agent执行过程中的状态和信息
+ * 维护Agent执行过程中的状态和信息。
+ * 属性、会话历史和配置在首次写入时才分配存储；已注册的{@link ContextKey}直接映射到数组槽位。
+ * 会话上下文在多个对话轮次间共享，每个轮次通过{@link #forTurn}获得带有自身Agent ID和截止时间的视图
  *
  * @author Lake Intelligence Team
  * @since 1.0.0
  */
-@Data
-@Builder
+@Getter
+@Setter
 @NoArgsConstructor
-@AllArgsConstructor
 public class AgentContext {
 
+    /**
+     * 会话历史键：按时间顺序排列的最近消息列表
+     */
+    public static final String HISTORY_MESSAGES = "messages";
+
     /**
      * 会话ID
      */
@@ -36,23 +49,187 @@ public class AgentContext {
      */
     private String agentId;
 
+    /**
+     * 处理截止时间（epoch毫秒），0表示不限制
+     * 会话上下文在多个对话轮次间复用，截止时间应设置在{@link #forTurn}返回的轮次视图上
+     */
+    private volatile long deadline;
+
     /**
      * 上下文属性
      */
-    @Builder.Default
-    private Map<String, Object> attributes = new ConcurrentHashMap<>();
+    private volatile Map<String, Object> attributes;
 
     /**
      * 会话历史
      */
-    @Builder.Default
-    private Map<String, Object> sessionHistory = new ConcurrentHashMap<>();
+    private volatile Map<String, Object> sessionHistory;
 
     /**
      * 配置信息
      */
-    @Builder.Default
-    private Map<String, Object> configuration = new ConcurrentHashMap<>();
+    private volatile Map<String, Object> configuration;
+
+    /**
+     * 已注册键的值，按{@link ContextKey#getSlot()}索引
+     */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private volatile Object[] slots;
+
+    /**
+     * 轮次视图所属的会话上下文，为null时本对象即为会话上下文
+     */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private AgentContext session;
+
+    @Builder
+    public AgentContext(String sessionId, String userId, String agentId, long deadline,
+                        Map<String, Object> attributes,
+                        Map<String, Object> sessionHistory,
+                        Map<String, Object> configuration) {
+        this.sessionId = sessionId;
+        this.userId = userId;
+        this.agentId = agentId;
+        this.deadline = deadline;
+        this.attributes = attributes;
+        this.sessionHistory = sessionHistory;
+        this.configuration = configuration;
+    }
+
+    /**
+     * 创建单个对话轮次使用的上下文视图
+     * 视图与会话上下文共享属性、会话历史、配置和已注册键的值，Agent ID和截止时间只属于该轮次，
+     * 同一会话中并发的轮次设置各自的截止时间时互不影响
+     *
+     * @param turnAgentId  处理该轮次的Agent ID
+     * @param turnDeadline 该轮次的截止时间（epoch毫秒），0表示不限制
+     * @return 轮次上下文视图
+     */
+    public AgentContext forTurn(String turnAgentId, long turnDeadline) {
+        AgentContext owner = owner();
+        AgentContext turn = new AgentContext(owner.sessionId, owner.userId, turnAgentId, turnDeadline,
+                null, null, null);
+        turn.session = owner;
+        return turn;
+    }
+
+    /**
+     * 获取上下文属性，首次访问时分配存储
+     * 已注册{@link ContextKey}的值存放在槽位中，不出现在返回的属性表里
+     *
+     * @return 上下文属性
+     */
+    public Map<String, Object> getAttributes() {
+        AgentContext owner = owner();
+        Map<String, Object> map = owner.attributes;
+        if (map == null) {
+            synchronized (owner) {
+                map = owner.attributes;
+                if (map == null) {
+                    map = new ConcurrentHashMap<>();
+                    owner.attributes = map;
+                }
+            }
+        }
+        return map;
+    }
+
+    /**
+     * 替换上下文属性，轮次视图上调用时替换所属会话上下文的上下文属性
+     *
+     * @param attributes 上下文属性，为null时在下次写入时重新分配
+     */
+    public void setAttributes(Map<String, Object> attributes) {
+        owner().attributes = attributes;
+    }
+
+    /**
+     * 获取会话历史，首次访问时分配存储
+     *
+     * @return 会话历史
+     */
+    public Map<String, Object> getSessionHistory() {
+        AgentContext owner = owner();
+        Map<String, Object> map = owner.sessionHistory;
+        if (map == null) {
+            synchronized (owner) {
+                map = owner.sessionHistory;
+                if (map == null) {
+                    map = new ConcurrentHashMap<>();
+                    owner.sessionHistory = map;
+                }
+            }
+        }
+        return map;
+    }
+
+    /**
+     * 替换会话历史，轮次视图上调用时替换所属会话上下文的会话历史
+     *
+     * @param sessionHistory 会话历史，为null时在下次写入时重新分配
+     */
+    public void setSessionHistory(Map<String, Object> sessionHistory) {
+        owner().sessionHistory = sessionHistory;
+    }
+
+    /**
+     * 获取配置信息，首次访问时分配存储
+     *
+     * @return 配置信息
+     */
+    public Map<String, Object> getConfiguration() {
+        AgentContext owner = owner();
+        Map<String, Object> map = owner.configuration;
+        if (map == null) {
+            synchronized (owner) {
+                map = owner.configuration;
+                if (map == null) {
+                    map = new ConcurrentHashMap<>();
+                    owner.configuration = map;
+                }
+            }
+        }
+        return map;
+    }
+
+    /**
+     * 替换配置信息，轮次视图上调用时替换所属会话上下文的配置信息
+     *
+     * @param configuration 配置信息，为null时在下次写入时重新分配
+     */
+    public void setConfiguration(Map<String, Object> configuration) {
+        owner().configuration = configuration;
+    }
+
+    /**
+     * 检查是否设置了截止时间
+     *
+     * @return true如果设置了截止时间，否则false
+     */
+    public boolean hasDeadline() {
+        return deadline > 0;
+    }
+
+    /**
+     * 获取距截止时间的剩余毫秒数
+     *
+     * @return 剩余毫秒数，已过期时小于等于0，未设置截止时间时返回Long.MAX_VALUE
+     */
+    public long getRemainingMillis() {
+        long current = deadline;
+        return current > 0 ? current - System.currentTimeMillis() : Long.MAX_VALUE;
+    }
+
+    /**
+     * 检查截止时间是否已过
+     *
+     * @return true如果已过截止时间，否则false
+     */
+    public boolean isDeadlineExceeded() {
+        return getRemainingMillis() <= 0;
+    }
 
     /**
      * 获取属性值
@@ -63,7 +240,13 @@ public class AgentContext {
      */
     @SuppressWarnings("unchecked")
     public <T> T getAttribute(String key) {
-        return (T) attributes.get(key);
+        AgentContext owner = owner();
+        ContextKey<?> slotted = ContextKey.registered(key);
+        if (slotted != null) {
+            return (T) readSlot(owner, slotted.getSlot());
+        }
+        Map<String, Object> map = owner.attributes;
+        return map != null ? (T) map.get(key) : null;
     }
 
     /**
@@ -73,7 +256,12 @@ public class AgentContext {
      * @param value 属性值
      */
     public void setAttribute(String key, Object value) {
-        attributes.put(key, value);
+        ContextKey<?> slotted = ContextKey.registered(key);
+        if (slotted != null) {
+            writeSlot(owner(), slotted.getSlot(), slotted.cast(value));
+            return;
+        }
+        getAttributes().put(key, value);
     }
 
     /**
@@ -83,7 +271,13 @@ public class AgentContext {
      * @return 被移除的属性值
      */
     public Object removeAttribute(String key) {
-        return attributes.remove(key);
+        AgentContext owner = owner();
+        ContextKey<?> slotted = ContextKey.registered(key);
+        if (slotted != null) {
+            return writeSlot(owner, slotted.getSlot(), null);
+        }
+        Map<String, Object> map = owner.attributes;
+        return map != null ? map.remove(key) : null;
     }
 
     /**
@@ -93,7 +287,73 @@ public class AgentContext {
      * @return true如果包含，否则false
      */
     public boolean hasAttribute(String key) {
-        return attributes.containsKey(key);
+        AgentContext owner = owner();
+        ContextKey<?> slotted = ContextKey.registered(key);
+        if (slotted != null) {
+            return readSlot(owner, slotted.getSlot()) != null;
+        }
+        Map<String, Object> map = owner.attributes;
+        return map != null && map.containsKey(key);
+    }
+
+    /**
+     * 获取类型化的属性值
+     * 已注册的键从数组槽位读取，其余键按名称读取，与{@link #getAttribute}看到的值一致
+     *
+     * @param key 属性键
+     * @param <T> 属性值类型
+     * @return 属性值，不存在时返回null
+     */
+    public <T> T get(ContextKey<T> key) {
+        if (key.isSlotted()) {
+            return key.cast(readSlot(owner(), key.getSlot()));
+        }
+        return key.cast(getAttribute(key.getName()));
+    }
+
+    /**
+     * 设置类型化的属性值
+     *
+     * @param key   属性键
+     * @param value 属性值，为null时移除
+     * @param <T>   属性值类型
+     */
+    public <T> void put(ContextKey<T> key, T value) {
+        if (key.isSlotted()) {
+            writeSlot(owner(), key.getSlot(), value);
+        } else if (value == null) {
+            removeAttribute(key.getName());
+        } else {
+            setAttribute(key.getName(), value);
+        }
+    }
+
+    private static Object readSlot(AgentContext owner, int slot) {
+        Object[] values = owner.slots;
+        return values != null && slot < values.length ? values[slot] : null;
+    }
+
+    /**
+     * 写入槽位，value为null时清除
+     *
+     * @return 原有的值
+     */
+    private static Object writeSlot(AgentContext owner, int slot, Object value) {
+        synchronized (owner) {
+            Object[] values = owner.slots;
+            if (values == null || slot >= values.length) {
+                if (value == null) {
+                    return null;
+                }
+                int size = Math.max(ContextKey.slotCount(), slot + 1);
+                values = values == null ? new Object[size] : Arrays.copyOf(values, size);
+            }
+            Object previous = values[slot];
+            values[slot] = value;
+            // 重新发布数组引用，保证无锁读取能看到槽位写入
+            owner.slots = values;
+            return previous;
+        }
     }
 
     /**
@@ -105,7 +365,9 @@ public class AgentContext {
      */
     @SuppressWarnings("unchecked")
     public <T> T getConfig(String key) {
-        return (T) configuration.get(key);
+        AgentContext owner = owner();
+        Map<String, Object> map = owner.configuration;
+        return map != null ? (T) map.get(key) : null;
     }
 
     /**
@@ -115,15 +377,151 @@ public class AgentContext {
      * @param value 配置值
      */
     public void setConfig(String key, Object value) {
-        configuration.put(key, value);
+        getConfiguration().put(key, value);
+    }
+
+    /**
+     * 获取按时间顺序排列的会话历史消息
+     *
+     * @return 历史消息列表，不存在时返回空列表
+     */
+    @SuppressWarnings("unchecked")
+    public List<Message> getHistoryMessages() {
+        AgentContext owner = owner();
+        Map<String, Object> history = owner.sessionHistory;
+        Object messages = history != null ? history.get(HISTORY_MESSAGES) : null;
+        return messages != null ? (List<Message>) messages : Collections.emptyList();
+    }
+
+    /**
+     * 追加会话历史消息，超出上限时丢弃最早的消息
+     *
+     * @param message     消息
+     * @param maxMessages 保留的最大消息数
+     */
+    @SuppressWarnings("unchecked")
+    public void appendHistory(Message message, int maxMessages) {
+        List<Message> messages = (List<Message>) getSessionHistory().computeIfAbsent(HISTORY_MESSAGES,
+                key -> Collections.synchronizedList(new ArrayList<>()));
+        synchronized (messages) {
+            messages.add(message);
+            while (messages.size() > maxMessages) {
+                messages.remove(0);
+            }
+        }
     }
 
     /**
      * 清空上下文
      */
     public void clear() {
-        attributes.clear();
-        sessionHistory.clear();
-        configuration.clear();
+        AgentContext owner = owner();
+        Map<String, Object> map = owner.attributes;
+        if (map != null) {
+            map.clear();
+        }
+        map = owner.sessionHistory;
+        if (map != null) {
+            map.clear();
+        }
+        map = owner.configuration;
+        if (map != null) {
+            map.clear();
+        }
+        synchronized (owner) {
+            owner.slots = null;
+        }
+    }
+
+    private AgentContext owner() {
+        return session != null ? session : this;
+    }
+
+    /**
+     * 按字段比较，与原先@Data生成的语义一致；未分配的属性、会话历史和配置视为空，比较时不分配存储。
+     * 轮次视图比较所属会话上下文的内容
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof AgentContext other)) {
+            return false;
+        }
+        AgentContext owner = owner();
+        AgentContext otherOwner = other.owner();
+        return deadline == other.deadline
+                && Objects.equals(sessionId, other.sessionId)
+                && Objects.equals(userId, other.userId)
+                && Objects.equals(agentId, other.agentId)
+                && sameEntries(owner.attributes, otherOwner.attributes)
+                && sameEntries(owner.sessionHistory, otherOwner.sessionHistory)
+                && sameEntries(owner.configuration, otherOwner.configuration)
+                && sameSlots(owner.slots, otherOwner.slots);
+    }
+
+    @Override
+    public int hashCode() {
+        AgentContext owner = owner();
+        int result = Objects.hash(sessionId, userId, agentId, deadline);
+        // 未分配的表与空表的哈希值均为0
+        result = 31 * result + Objects.hashCode(owner.attributes);
+        result = 31 * result + Objects.hashCode(owner.sessionHistory);
+        result = 31 * result + Objects.hashCode(owner.configuration);
+        Object[] values = owner.slots;
+        for (int i = 0, length = slotLength(values); i < length; i++) {
+            result = 31 * result + Objects.hashCode(values[i]);
+        }
+        return result;
+    }
+
+    private static boolean sameEntries(Map<String, Object> a, Map<String, Object> b) {
+        if (a == null || a.isEmpty()) {
+            return b == null || b.isEmpty();
+        }
+        return a.equals(b);
+    }
+
+    private static boolean sameSlots(Object[] a, Object[] b) {
+        int length = slotLength(a);
+        if (length != slotLength(b)) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (!Objects.equals(a[i], b[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 末尾未使用的槽位不参与比较，槽位数组的长度取决于分配时已注册的键数
+     */
+    private static int slotLength(Object[] values) {
+        if (values == null) {
+            return 0;
+        }
+        int length = values.length;
+        while (length > 0 && values[length - 1] == null) {
+            length--;
+        }
+        return length;
+    }
+
+    /**
+     * 直接读取字段，不触发属性、会话历史和配置的存储分配
+     */
+    @Override
+    public String toString() {
+        AgentContext owner = owner();
+        return "AgentContext(sessionId=" + sessionId
+                + ", userId=" + userId
+                + ", agentId=" + agentId
+                + ", deadline=" + deadline
+                + ", attributes=" + owner.attributes
+                + ", sessionHistory=" + owner.sessionHistory
+                + ", configuration=" + owner.configuration + ")";
     }
 }
\ No newline at end of file
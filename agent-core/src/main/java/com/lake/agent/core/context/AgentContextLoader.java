@@ -0,0 +1,19 @@
+package com.lake.agent.core.context;
+
+/**
+ * Agent上下文加载器
+ * 会话上下文不在内存中时，用于从持久化存储中恢复会话状态
+ *
+ * @author Lake Intelligence Team
+ * @since 1.0.0
+ */
+public interface AgentContextLoader {
+
+    /**
+     * 将会话的最近消息加载到上下文的会话历史中
+     *
+     * @param context     待恢复的上下文，sessionId已设置
+     * @param maxMessages 最多加载的消息数
+     */
+    void load(AgentContext context, int maxMessages);
+}
\ No newline at end of file
@@ -0,0 +1,109 @@
+package com.lake.agent.core.context;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 类型化的上下文属性键
+ * 通过{@link #register}注册的常用键分配固定的数组槽位，读写无需哈希查找；
+ * 通过{@link #of}创建的键仍存放在属性表中，但读取时进行类型检查而非未检查转换。
+ * 键名与属性名共用一个命名空间：以已注册键的名称调用{@link AgentContext#getAttribute}等方法时读写同一个槽位
+ *
+ * @param <T> 属性值类型
+ * @author Lake Intelligence Team
+ * @since 1.0.0
+ */
+public final class ContextKey<T> {
+
+    private static final AtomicInteger SLOT_COUNTER = new AtomicInteger();
+    private static final ConcurrentMap<String, ContextKey<?>> REGISTERED = new ConcurrentHashMap<>();
+
+    private final String name;
+    private final Class<T> type;
+    private final int slot;
+
+    private ContextKey(String name, Class<T> type, int slot) {
+        if (name == null || type == null) {
+            throw new IllegalArgumentException("Context key name and type cannot be null");
+        }
+        this.name = name;
+        this.type = type;
+        this.slot = slot;
+    }
+
+    /**
+     * 注册常用键，分配固定槽位
+     * 应在静态常量中调用，避免槽位数量无限增长；名称不能与已注册的键重复
+     *
+     * @param name 键名称
+     * @param type 值类型
+     * @param <T>  值类型
+     * @return 上下文键
+     */
+    public static synchronized <T> ContextKey<T> register(String name, Class<T> type) {
+        if (name != null && REGISTERED.containsKey(name)) {
+            throw new IllegalArgumentException("Context key already registered: " + name);
+        }
+        ContextKey<T> key = new ContextKey<>(name, type, SLOT_COUNTER.get());
+        SLOT_COUNTER.incrementAndGet();
+        REGISTERED.put(name, key);
+        return key;
+    }
+
+    /**
+     * 创建存放在属性表中的键
+     *
+     * @param name 属性名称
+     * @param type 值类型
+     * @param <T>  值类型
+     * @return 上下文键
+     */
+    public static <T> ContextKey<T> of(String name, Class<T> type) {
+        return new ContextKey<>(name, type, -1);
+    }
+
+    /**
+     * 查找以该名称注册的键
+     *
+     * @param name 键名称
+     * @return 已注册的键，未注册时返回null
+     */
+    static ContextKey<?> registered(String name) {
+        return name != null ? REGISTERED.get(name) : null;
+    }
+
+    /**
+     * 获取已分配的槽位数量
+     *
+     * @return 槽位数量
+     */
+    static int slotCount() {
+        return SLOT_COUNTER.get();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Class<T> getType() {
+        return type;
+    }
+
+    int getSlot() {
+        return slot;
+    }
+
+    boolean isSlotted() {
+        return slot >= 0;
+    }
+
+    T cast(Object value) {
+        return value != null ? type.cast(value) : null;
+    }
+
+    @Override
+    public String toString() {
+        return "ContextKey[" + name + ":" + type.getSimpleName() + "]";
+    }
+}
\ No newline at end of file
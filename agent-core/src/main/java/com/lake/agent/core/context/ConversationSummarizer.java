@@ -0,0 +1,26 @@
+package com.lake.agent.core.context;
+
+import com.lake.agent.core.message.Message;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 会话摘要生成器
+ * 将移出会话窗口的消息合并到滚动摘要中，在后台执行，不阻塞对话轮次
+ *
+ * @author Lake Intelligence Team
+ * @since 1.0.0
+ */
+public interface ConversationSummarizer {
+
+    /**
+     * 将消息合并到已有摘要中
+     *
+     * @param summary   已有摘要，首次摘要时为null
+     * @param messages  按时间顺序排列、待合并的消息
+     * @param maxTokens 新摘要的最大token数
+     * @return 新摘要
+     */
+    CompletableFuture<String> summarize(String summary, List<Message> messages, int maxTokens);
+}
\ No newline at end of file
@@ -0,0 +1,168 @@
+package com.lake.agent.core.context;
+
+import com.lake.agent.core.message.Message;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * 按token预算维护的会话窗口
+ * 保留预算内的最近消息，更早的消息移出窗口后等待合并到滚动摘要中。
+ * 每条消息的token数在追加时计算一次，构建提示词只需读取窗口和摘要，与会话总长度无关。
+ * 摘要合并由外部在后台驱动：{@link #beginFold}取出待合并消息，
+ * 完成后调用{@link #completeFold}或{@link #abortFold}，同一时刻只有一次合并在进行。
+ * 失败的合并将消息放回待合并列表重试，连续失败达到上限后丢弃这批消息
+ *
+ * @author Lake Intelligence Team
+ * @since 1.0.0
+ */
+public class ConversationWindow {
+
+    /**
+     * 会话窗口在上下文中的键
+     */
+    public static final ContextKey<ConversationWindow> KEY =
+            ContextKey.register("conversationWindow", ConversationWindow.class);
+
+    /**
+     * 连续合并失败的最大重试次数
+     */
+    public static final int MAX_FOLD_RETRIES = 3;
+
+    private final int maxTokens;
+    private final int maxMessages;
+    private final Deque<Entry> entries = new ArrayDeque<>();
+    private final List<Message> pending = new ArrayList<>();
+    private int tokens;
+    private String summary;
+    private int summaryTokens;
+    private boolean folding;
+    private int foldFailures;
+
+    /**
+     * 构造函数
+     *
+     * @param maxTokens   窗口内消息的token预算
+     * @param maxMessages 窗口内保留的最大消息数
+     */
+    public ConversationWindow(int maxTokens, int maxMessages) {
+        this.maxTokens = maxTokens;
+        this.maxMessages = maxMessages;
+    }
+
+    /**
+     * 追加消息，超出预算时将最早的消息移出窗口
+     * 最近一条消息始终保留在窗口中
+     *
+     * @param message 消息
+     */
+    public synchronized void append(Message message) {
+        Entry entry = new Entry(message, TokenEstimator.count(message));
+        entries.addLast(entry);
+        tokens += entry.tokens;
+        while (entries.size() > 1 && (tokens > maxTokens || entries.size() > maxMessages)) {
+            Entry evicted = entries.removeFirst();
+            tokens -= evicted.tokens;
+            pending.add(evicted.message);
+        }
+    }
+
+    /**
+     * 获取窗口内按时间顺序排列的消息
+     *
+     * @return 消息列表副本
+     */
+    public synchronized List<Message> getMessages() {
+        List<Message> messages = new ArrayList<>(entries.size());
+        for (Entry entry : entries) {
+            messages.add(entry.message);
+        }
+        return messages;
+    }
+
+    /**
+     * 获取移出窗口的消息的滚动摘要
+     *
+     * @return 摘要，尚无摘要时返回null
+     */
+    public synchronized String getSummary() {
+        return summary;
+    }
+
+    /**
+     * 获取窗口消息和摘要的token数
+     *
+     * @return token数
+     */
+    public synchronized int getTokens() {
+        return tokens + summaryTokens;
+    }
+
+    /**
+     * 获取窗口内的消息数
+     *
+     * @return 消息数
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * 检查窗口是否为空
+     *
+     * @return true如果窗口内没有消息且没有摘要，否则false
+     */
+    public synchronized boolean isEmpty() {
+        return entries.isEmpty() && summary == null && pending.isEmpty();
+    }
+
+    /**
+     * 开始一次摘要合并，取出全部待合并消息
+     *
+     * @return 待合并消息，没有待合并消息或已有合并在进行时返回null
+     */
+    public synchronized List<Message> beginFold() {
+        if (folding || pending.isEmpty()) {
+            return null;
+        }
+        folding = true;
+        List<Message> batch = new ArrayList<>(pending);
+        pending.clear();
+        return batch;
+    }
+
+    /**
+     * 完成摘要合并
+     *
+     * @param newSummary 合并后的摘要
+     */
+    public synchronized void completeFold(String newSummary) {
+        summary = newSummary;
+        summaryTokens = TokenEstimator.count(newSummary);
+        folding = false;
+        foldFailures = 0;
+    }
+
+    /**
+     * 放弃摘要合并
+     * 本次取出的消息放回待合并列表的最前面，等待下次合并；
+     * 连续失败超过{@link #MAX_FOLD_RETRIES}次时丢弃这批消息，避免待合并列表无限增长
+     *
+     * @param batch 本次合并取出的消息
+     * @return true如果消息已放回等待重试，false如果已丢弃
+     */
+    public synchronized boolean abortFold(List<Message> batch) {
+        folding = false;
+        if (++foldFailures > MAX_FOLD_RETRIES) {
+            foldFailures = 0;
+            return false;
+        }
+        pending.addAll(0, batch);
+        return true;
+    }
+
+    private record Entry(Message message, int tokens) {
+    }
+}
\ No newline at end of file
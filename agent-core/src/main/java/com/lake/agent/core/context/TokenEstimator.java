@@ -0,0 +1,74 @@
+package com.lake.agent.core.context;
+
+import com.lake.agent.core.message.Message;
+
+/**
+ * 本地token数估算
+ * 单次遍历、不分配内存，近似BPE分词的结果：ASCII字母数字按每4个字符1个token计，
+ * 标点符号各计1个token，中日韩等非ASCII字符每个字符计1个token，空白不计。
+ * 用于会话窗口的预算控制，精确用量以模型服务返回的usage为准
+ *
+ * @author Lake Intelligence Team
+ * @since 1.0.0
+ */
+public final class TokenEstimator {
+
+    /**
+     * 每条对话消息的格式开销（角色、分隔符等）
+     */
+    public static final int MESSAGE_OVERHEAD = 4;
+
+    private TokenEstimator() {
+    }
+
+    /**
+     * 估算文本的token数
+     *
+     * @param text 文本
+     * @return token数，文本为空时返回0
+     */
+    public static int count(CharSequence text) {
+        if (text == null) {
+            return 0;
+        }
+
+        int tokens = 0;
+        int run = 0;
+        for (int i = 0, length = text.length(); i < length; i++) {
+            char c = text.charAt(i);
+            if (c < 128) {
+                if ((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9')) {
+                    run++;
+                    continue;
+                }
+                tokens += wordTokens(run);
+                run = 0;
+                if (c > ' ') {
+                    tokens++;
+                }
+            } else {
+                tokens += wordTokens(run);
+                run = 0;
+                // 代理对只计一次
+                if (!Character.isHighSurrogate(c) && !Character.isWhitespace(c)) {
+                    tokens++;
+                }
+            }
+        }
+        return tokens + wordTokens(run);
+    }
+
+    /**
+     * 估算一条对话消息的token数，包含消息格式开销
+     *
+     * @param message 消息
+     * @return token数
+     */
+    public static int count(Message message) {
+        return MESSAGE_OVERHEAD + count(message.getContent());
+    }
+
+    private static int wordTokens(int run) {
+        return (run + 3) / 4;
+    }
+}
\ No newline at end of file
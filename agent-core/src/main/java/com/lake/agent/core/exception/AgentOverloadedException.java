@@ -0,0 +1,27 @@
+package com.lake.agent.core.exception;
+
+/**
+ * Agent过载异常
+ * 当Agent的并发处理数和等待队列均已满时抛出，调用方应在retryAfterMillis之后重试
+ *
+ * @author Lake Intelligence Team
+ * @since 1.0.0
+ */
+public class AgentOverloadedException extends AgentException {
+
+    public static final String ERROR_CODE = "AGENT_OVERLOADED";
+
+    /**
+     * 建议的重试等待时间（毫秒）
+     */
+    private final long retryAfterMillis;
+
+    public AgentOverloadedException(String message, long retryAfterMillis) {
+        super(ERROR_CODE, message);
+        this.retryAfterMillis = retryAfterMillis;
+    }
+
+    public long getRetryAfterMillis() {
+        return retryAfterMillis;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,23 @@
+package com.lake.agent.core.execution;
+
+import com.lake.agent.core.Agent;
+
+/**
+ * Agent激活器
+ * 由Agent管理器注入，在每次处理消息前调用：Agent已被钝化或尚未延迟初始化时在调用线程上完成初始化，
+ * 同一Agent的并发调用等待同一次初始化。持有Agent引用的调用方因此无需经过管理器查找也能透明地重新激活Agent
+ *
+ * @author Lake Intelligence Team
+ * @since 1.0.0
+ */
+@FunctionalInterface
+public interface AgentActivator {
+
+    /**
+     * 确保Agent可以处理消息，并记录本次使用
+     *
+     * @param agent Agent实例
+     * @return false如果初始化失败或Agent已注销
+     */
+    boolean activate(Agent agent);
+}
\ No newline at end of file
@@ -0,0 +1,121 @@
+package com.lake.agent.core.execution;
+
+import com.lake.agent.core.exception.AgentOverloadedException;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Agent并发隔离舱
+ * 限制单个Agent同时处理的请求数，超出部分进入有界等待队列；
+ * 队列已满或等待超时的请求立即失败，避免单个热点Agent占满所有请求线程
+ *
+ * @author Lake Intelligence Team
+ * @since 1.0.0
+ */
+public class AgentBulkhead {
+
+    private final int maxConcurrent;
+    private final int maxWaiting;
+    private final long maxWaitMillis;
+    private final long retryAfterMillis;
+
+    private final Semaphore permits;
+    private final AtomicInteger waiting = new AtomicInteger();
+    private final LongAdder accepted = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    /**
+     * 构造函数
+     *
+     * @param maxConcurrent    最大并发处理数
+     * @param maxWaiting       最大等待数，为0时不等待
+     * @param maxWaitMillis    单个请求的最大等待时间（毫秒）
+     * @param retryAfterMillis 拒绝时建议的重试等待时间（毫秒）
+     */
+    public AgentBulkhead(int maxConcurrent, int maxWaiting, long maxWaitMillis, long retryAfterMillis) {
+        if (maxConcurrent <= 0) {
+            throw new IllegalArgumentException("maxConcurrent must be positive");
+        }
+        this.maxConcurrent = maxConcurrent;
+        this.maxWaiting = Math.max(0, maxWaiting);
+        this.maxWaitMillis = Math.max(0, maxWaitMillis);
+        this.retryAfterMillis = Math.max(0, retryAfterMillis);
+        this.permits = new Semaphore(maxConcurrent, true);
+    }
+
+    /**
+     * 获取执行许可，成功后必须调用{@link #release()}
+     *
+     * @param agentId Agent ID，用于异常信息
+     * @throws AgentOverloadedException 并发数和等待队列均已满，或等待超时
+     */
+    public void acquire(String agentId) {
+        acquire(agentId, maxWaitMillis);
+    }
+
+    /**
+     * 获取执行许可，等待时间不超过给定上限，成功后必须调用{@link #release()}
+     *
+     * @param agentId       Agent ID，用于异常信息
+     * @param maxWaitMillis 本次最多等待的毫秒数，与配置的最大等待时间取较小值
+     * @throws AgentOverloadedException 并发数和等待队列均已满，或等待超时
+     */
+    public void acquire(String agentId, long maxWaitMillis) {
+        if (permits.tryAcquire()) {
+            accepted.increment();
+            return;
+        }
+
+        if (waiting.incrementAndGet() > maxWaiting) {
+            waiting.decrementAndGet();
+            throw reject(agentId);
+        }
+
+        boolean acquired;
+        try {
+            long waitMillis = Math.max(0, Math.min(this.maxWaitMillis, maxWaitMillis));
+            acquired = permits.tryAcquire(waitMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        } finally {
+            waiting.decrementAndGet();
+        }
+
+        if (!acquired) {
+            throw reject(agentId);
+        }
+        accepted.increment();
+    }
+
+    /**
+     * 释放执行许可
+     */
+    public void release() {
+        permits.release();
+    }
+
+    /**
+     * 获取统计信息
+     *
+     * @return 统计信息
+     */
+    public BulkheadStatistics getStatistics() {
+        return BulkheadStatistics.builder()
+                .maxConcurrent(maxConcurrent)
+                .maxWaiting(maxWaiting)
+                .inFlight(maxConcurrent - permits.availablePermits())
+                .waiting(waiting.get())
+                .accepted(accepted.sum())
+                .rejected(rejected.sum())
+                .build();
+    }
+
+    private AgentOverloadedException reject(String agentId) {
+        rejected.increment();
+        return new AgentOverloadedException("Agent " + agentId + " is overloaded, please retry later", retryAfterMillis);
+    }
+}
\ No newline at end of file
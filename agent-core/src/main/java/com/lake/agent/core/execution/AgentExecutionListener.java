@@ -0,0 +1,66 @@
+package com.lake.agent.core.execution;
+
+import com.lake.agent.core.message.Message;
+
+import java.util.List;
+
+/**
+ * Agent执行监听器
+ * 在每次消息处理开始和结束时回调，用于指标采集和诊断事件；未注册监听器时不产生任何开销。
+ * 回调在处理线程上同步执行，实现应尽量轻量且不得抛出异常
+ *
+ * @author Lake Intelligence Team
+ * @since 1.0.0
+ */
+public interface AgentExecutionListener {
+
+    /**
+     * 消息处理开始
+     *
+     * @param agentId Agent ID，副本使用所属副本池的逻辑ID
+     * @param message 输入消息
+     */
+    default void onStart(String agentId, Message message) {
+    }
+
+    /**
+     * 消息处理结束
+     *
+     * @param agentId       Agent ID，副本使用所属副本池的逻辑ID
+     * @param message       输入消息
+     * @param outcome       处理结果
+     * @param durationNanos 处理耗时（纳秒）
+     */
+    void onComplete(String agentId, Message message, ProcessOutcome outcome, long durationNanos);
+
+    /**
+     * 组合多个监听器
+     *
+     * @param listeners 监听器列表
+     * @return 组合后的监听器，列表为空时返回null
+     */
+    static AgentExecutionListener compose(List<AgentExecutionListener> listeners) {
+        if (listeners == null || listeners.isEmpty()) {
+            return null;
+        }
+        if (listeners.size() == 1) {
+            return listeners.get(0);
+        }
+        List<AgentExecutionListener> copy = List.copyOf(listeners);
+        return new AgentExecutionListener() {
+            @Override
+            public void onStart(String agentId, Message message) {
+                for (AgentExecutionListener listener : copy) {
+                    listener.onStart(agentId, message);
+                }
+            }
+
+            @Override
+            public void onComplete(String agentId, Message message, ProcessOutcome outcome, long durationNanos) {
+                for (AgentExecutionListener listener : copy) {
+                    listener.onComplete(agentId, message, outcome, durationNanos);
+                }
+            }
+        };
+    }
+}
\ No newline at end of file
@@ -0,0 +1,74 @@
+package com.lake.agent.core.execution;
+
+import com.lake.agent.core.message.Message;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+
+/**
+ * Agent异步处理任务
+ * 将一次消息处理封装为可取消的任务，并通过CompletableFuture暴露结果
+ *
+ * @author Lake Intelligence Team
+ * @since 1.0.0
+ */
+public class AgentTask extends FutureTask<Message> {
+
+    /**
+     * 待处理的消息
+     */
+    private final Message message;
+
+    /**
+     * 处理结果
+     */
+    private final CompletableFuture<Message> result = new CompletableFuture<>();
+
+    public AgentTask(Message message, Callable<Message> callable) {
+        super(callable);
+        this.message = message;
+        // 调用方取消结果时同步中断正在执行的任务
+        result.whenComplete((response, ex) -> {
+            if (result.isCancelled()) {
+                cancel(true);
+            }
+        });
+    }
+
+    /**
+     * 获取待处理的消息
+     *
+     * @return 消息
+     */
+    public Message getMessage() {
+        return message;
+    }
+
+    /**
+     * 获取处理结果
+     *
+     * @return 处理结果的Future
+     */
+    public CompletableFuture<Message> getResult() {
+        return result;
+    }
+
+    @Override
+    protected void done() {
+        if (isCancelled()) {
+            result.cancel(false);
+            return;
+        }
+
+        try {
+            result.complete(get());
+        } catch (ExecutionException e) {
+            result.completeExceptionally(e.getCause() != null ? e.getCause() : e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            result.completeExceptionally(e);
+        }
+    }
+}
\ No newline at end of file
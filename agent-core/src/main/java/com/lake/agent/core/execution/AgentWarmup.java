@@ -0,0 +1,108 @@
+package com.lake.agent.core.execution;
+
+import com.lake.agent.core.message.Message;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Agent预热器
+ * 在Agent对外可用之前反复处理一组合成消息，使类加载、JIT编译和缓存填充发生在真实请求之前。
+ * 相邻两轮的平均处理时间变化不超过容差时视为稳定，或在轮数、时间预算耗尽时结束
+ *
+ * @author Lake Intelligence Team
+ * @since 1.0.0
+ */
+@Slf4j
+public class AgentWarmup {
+
+    private final List<String> messages;
+    private final long budgetMillis;
+    private final int minRounds;
+    private final int maxRounds;
+    private final double tolerance;
+
+    /**
+     * 构造函数
+     *
+     * @param messages     合成消息内容
+     * @param budgetMillis 时间预算（毫秒）
+     * @param minRounds    判定稳定前至少执行的轮数
+     * @param maxRounds    最多执行的轮数
+     * @param tolerance    相邻两轮平均处理时间的相对变化容差，如0.1表示10%
+     */
+    public AgentWarmup(List<String> messages, long budgetMillis, int minRounds, int maxRounds, double tolerance) {
+        this.messages = messages != null ? List.copyOf(messages) : List.of();
+        this.budgetMillis = Math.max(0, budgetMillis);
+        this.minRounds = Math.max(2, minRounds);
+        this.maxRounds = Math.max(this.minRounds, maxRounds);
+        this.tolerance = Math.max(0, tolerance);
+    }
+
+    /**
+     * 获取配置的合成消息内容
+     *
+     * @return 消息内容列表
+     */
+    public List<String> getMessages() {
+        return messages;
+    }
+
+    /**
+     * 执行预热
+     *
+     * @param messages  合成消息
+     * @param processor 消息处理逻辑
+     * @return 预热报告
+     */
+    public WarmupReport run(List<Message> messages, Function<Message, Message> processor) {
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.MILLISECONDS.toNanos(budgetMillis);
+
+        int rounds = 0;
+        int failures = 0;
+        double initial = 0;
+        double previous = 0;
+        double latest = 0;
+        boolean stabilized = false;
+
+        while (rounds < maxRounds && System.nanoTime() < deadline) {
+            long roundStart = System.nanoTime();
+            for (Message message : messages) {
+                try {
+                    processor.apply(message);
+                } catch (Exception e) {
+                    failures++;
+                    log.debug("Warm-up message {} failed", message.getId(), e);
+                }
+            }
+            latest = (System.nanoTime() - roundStart) / 1000.0 / messages.size();
+            rounds++;
+
+            if (rounds == 1) {
+                initial = latest;
+            } else if (rounds >= minRounds && previous > 0
+                    && Math.abs(latest - previous) / previous <= tolerance) {
+                stabilized = true;
+                break;
+            }
+            previous = latest;
+
+            // 所有消息均失败时继续预热没有意义
+            if (failures >= messages.size() * rounds) {
+                break;
+            }
+        }
+
+        return WarmupReport.builder()
+                .rounds(rounds)
+                .durationMillis(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start))
+                .initialLatencyMicros(initial)
+                .finalLatencyMicros(latest)
+                .stabilized(stabilized)
+                .failures(failures)
+                .build();
+    }
+}
\ No newline at end of file
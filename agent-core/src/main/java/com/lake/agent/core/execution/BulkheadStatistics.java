@@ -0,0 +1,49 @@
+package com.lake.agent.core.execution;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Agent并发隔离统计信息
+ *
+ * @author Lake Intelligence Team
+ * @since 1.0.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkheadStatistics {
+
+    /**
+     * 最大并发处理数
+     */
+    private int maxConcurrent;
+
+    /**
+     * 最大等待数
+     */
+    private int maxWaiting;
+
+    /**
+     * 正在处理的请求数
+     */
+    private int inFlight;
+
+    /**
+     * 正在等待的请求数
+     */
+    private int waiting;
+
+    /**
+     * 累计处理的请求数
+     */
+    private long accepted;
+
+    /**
+     * 累计被拒绝的请求数
+     */
+    private long rejected;
+}
\ No newline at end of file
@@ -0,0 +1,64 @@
+package com.lake.agent.core.execution;
+
+import com.lake.agent.core.message.Message;
+import com.lake.agent.core.message.MessageType;
+
+/**
+ * Agent消息处理结果分类
+ *
+ * @author Lake Intelligence Team
+ * @since 1.0.0
+ */
+public enum ProcessOutcome {
+
+    /**
+     * 处理成功
+     */
+    SUCCESS,
+
+    /**
+     * 处理失败
+     */
+    ERROR,
+
+    /**
+     * 因并发限制被拒绝
+     */
+    REJECTED,
+
+    /**
+     * 开始处理前已过截止时间
+     */
+    DEADLINE_EXCEEDED,
+
+    /**
+     * Agent不可用
+     */
+    UNAVAILABLE;
+
+    /**
+     * 根据响应消息判断处理结果
+     *
+     * @param response 响应消息
+     * @return 处理结果
+     */
+    public static ProcessOutcome of(Message response) {
+        if (response == null) {
+            return ERROR;
+        }
+        if (response.getType() != MessageType.ERROR) {
+            return SUCCESS;
+        }
+        Object errorCode = response.getMetadata() != null
+                ? response.getMetadata().get(Message.METADATA_ERROR_CODE)
+                : null;
+        if (errorCode != null) {
+            for (ProcessOutcome outcome : values()) {
+                if (outcome.name().equals(errorCode)) {
+                    return outcome;
+                }
+            }
+        }
+        return ERROR;
+    }
+}
\ No newline at end of file
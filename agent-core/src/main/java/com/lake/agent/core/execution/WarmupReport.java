@@ -0,0 +1,49 @@
+package com.lake.agent.core.execution;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Agent预热报告
+ *
+ * @author Lake Intelligence Team
+ * @since 1.0.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class WarmupReport {
+
+    /**
+     * 执行的预热轮数
+     */
+    private int rounds;
+
+    /**
+     * 预热总耗时（毫秒）
+     */
+    private long durationMillis;
+
+    /**
+     * 第一轮的单条消息平均处理时间（微秒）
+     */
+    private double initialLatencyMicros;
+
+    /**
+     * 最后一轮的单条消息平均处理时间（微秒）
+     */
+    private double finalLatencyMicros;
+
+    /**
+     * 是否在预算内达到稳定
+     */
+    private boolean stabilized;
+
+    /**
+     * 预热过程中处理失败的消息数
+     */
+    private int failures;
+}
\ No newline at end of file
@@ -0,0 +1,19 @@
+package com.lake.agent.core.id;
+
+/**
+ * 消息ID生成器SPI
+ * 可通过META-INF/services/com.lake.agent.core.id.MessageIdGenerator注册自定义实现，
+ * 或在运行时调用{@link MessageIds#setGenerator(MessageIdGenerator)}替换
+ *
+ * @author Lake Intelligence Team
+ * @since 1.0.0
+ */
+public interface MessageIdGenerator {
+
+    /**
+     * 生成新的唯一ID
+     *
+     * @return 唯一ID
+     */
+    String generate();
+}
\ No newline at end of file
@@ -0,0 +1,60 @@
+package com.lake.agent.core.id;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ServiceLoader;
+
+/**
+ * 消息ID生成入口
+ * 默认使用通过ServiceLoader发现的第一个{@link MessageIdGenerator}实现，
+ * 未注册时使用{@link TimeOrderedIdGenerator}
+ *
+ * @author Lake Intelligence Team
+ * @since 1.0.0
+ */
+@Slf4j
+public final class MessageIds {
+
+    private static volatile MessageIdGenerator generator = loadGenerator();
+
+    private MessageIds() {
+    }
+
+    /**
+     * 生成新的消息ID
+     *
+     * @return 消息ID
+     */
+    public static String nextId() {
+        return generator.generate();
+    }
+
+    /**
+     * 获取当前使用的ID生成器
+     *
+     * @return ID生成器
+     */
+    public static MessageIdGenerator getGenerator() {
+        return generator;
+    }
+
+    /**
+     * 替换ID生成器
+     *
+     * @param idGenerator ID生成器
+     */
+    public static void setGenerator(MessageIdGenerator idGenerator) {
+        if (idGenerator == null) {
+            throw new IllegalArgumentException("MessageIdGenerator cannot be null");
+        }
+        generator = idGenerator;
+    }
+
+    private static MessageIdGenerator loadGenerator() {
+        MessageIdGenerator loaded = ServiceLoader.load(MessageIdGenerator.class)
+                .findFirst()
+                .orElseGet(TimeOrderedIdGenerator::new);
+        log.info("Using message ID generator: {}", loaded.getClass().getName());
+        return loaded;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,18 @@
+package com.lake.agent.core.id;
+
+import java.util.UUID;
+
+/**
+ * 随机UUID生成器
+ * 基于UUID.randomUUID()，保留原有的ID格式
+ *
+ * @author Lake Intelligence Team
+ * @since 1.0.0
+ */
+public class RandomUuidGenerator implements MessageIdGenerator {
+
+    @Override
+    public String generate() {
+        return UUID.randomUUID().toString();
+    }
+}
\ No newline at end of file
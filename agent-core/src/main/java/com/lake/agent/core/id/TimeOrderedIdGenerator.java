@@ -0,0 +1,29 @@
+package com.lake.agent.core.id;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 按时间排序的ID生成器
+ * 生成UUIDv7格式的ID：高48位为毫秒时间戳，其余为随机位。
+ * 随机数取自ThreadLocalRandom，避免UUID.randomUUID()共享SecureRandom带来的竞争；
+ * ID按创建时间递增，作为数据库主键时插入更友好
+ *
+ * @author Lake Intelligence Team
+ * @since 1.0.0
+ */
+public class TimeOrderedIdGenerator implements MessageIdGenerator {
+
+    @Override
+    public String generate() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long timestamp = System.currentTimeMillis();
+
+        // 48位时间戳 | 4位版本号(7) | 12位随机数
+        long mostSigBits = (timestamp << 16) | 0x7000L | (random.nextInt() & 0x0FFFL);
+        // 2位变体(10) | 62位随机数
+        long leastSigBits = (random.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+
+        return new UUID(mostSigBits, leastSigBits).toString();
+    }
+}
\ No newline at end of file
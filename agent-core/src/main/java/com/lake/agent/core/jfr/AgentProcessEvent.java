@@ -0,0 +1,39 @@
+package com.lake.agent.core.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Agent消息处理的JFR事件
+ * 默认关闭，仅在启用了该事件的录制进行时才会提交；未启用时创建和检查事件的开销可被JIT消除
+ *
+ * @author Lake Intelligence Team
+ * @since 1.0.0
+ */
+@Name(AgentProcessEvent.NAME)
+@Label("Agent Process")
+@Description("Processing of a single message by an agent")
+@Category({"Lake Intelligence", "Agent"})
+@Enabled(false)
+@StackTrace(false)
+public class AgentProcessEvent extends Event {
+
+    /**
+     * 事件名称
+     */
+    public static final String NAME = "com.lake.agent.AgentProcess";
+
+    @Label("Agent ID")
+    public String agentId;
+
+    @Label("Message Type")
+    public String messageType;
+
+    @Label("Outcome")
+    public String outcome;
+}
\ No newline at end of file
@@ -21,6 +21,41 @@ import java.util.Map;
 @AllArgsConstructor
 public class Message {
 
+    /**
+     * 元数据键：流式消息块序号
+     */
+    public static final String METADATA_CHUNK_INDEX = "chunkIndex";
+
+    /**
+     * 元数据键：是否为流式响应的最后一块
+     */
+    public static final String METADATA_LAST_CHUNK = "lastChunk";
+
+    /**
+     * 元数据键：请求/应答关联的原始消息ID
+     */
+    public static final String METADATA_CORRELATION_ID = "correlationId";
+
+    /**
+     * 元数据键：预热用的合成消息，Agent应避免产生外部副作用
+     */
+    public static final String METADATA_WARMUP = "warmup";
+
+    /**
+     * 元数据键：错误消息的错误代码
+     */
+    public static final String METADATA_ERROR_CODE = "errorCode";
+
+    /**
+     * 元数据键：响应来自响应缓存
+     */
+    public static final String METADATA_CACHED = "cached";
+
+    /**
+     * 元数据键：响应由合并的并发请求共享
+     */
+    public static final String METADATA_COALESCED = "coalesced";
+
     /**
      * 消息唯一标识
      */
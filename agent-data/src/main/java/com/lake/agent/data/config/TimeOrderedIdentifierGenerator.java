@@ -0,0 +1,31 @@
+package com.lake.agent.data.config;
+
+import com.baomidou.mybatisplus.core.incrementer.DefaultIdentifierGenerator;
+import com.baomidou.mybatisplus.core.incrementer.IdentifierGenerator;
+import com.lake.agent.core.id.MessageIds;
+import org.springframework.stereotype.Component;
+
+/**
+ * MyBatis Plus主键生成器
+ * ASSIGN_UUID类型的主键改用{@link MessageIds}生成的按时间排序ID，
+ * 使chat_message等表的插入按主键顺序追加，减少索引页分裂
+ *
+ * @author Lake Intelligence Team
+ * @since 1.0.0
+ */
+@Component
+public class TimeOrderedIdentifierGenerator implements IdentifierGenerator {
+
+    private final IdentifierGenerator delegate = DefaultIdentifierGenerator.getInstance();
+
+    @Override
+    public Number nextId(Object entity) {
+        return delegate.nextId(entity);
+    }
+
+    @Override
+    public String nextUUID(Object entity) {
+        // 与MyBatis Plus默认的32位无连字符格式保持一致
+        return MessageIds.nextId().replace("-", "");
+    }
+}
\ No newline at end of file
@@ -0,0 +1,67 @@
+package com.lake.agent.data.loader;
+
+import com.lake.agent.core.context.AgentContext;
+import com.lake.agent.core.context.AgentContextLoader;
+import com.lake.agent.core.message.Message;
+import com.lake.agent.core.message.MessageType;
+import com.lake.agent.data.entity.ChatMessage;
+import com.lake.agent.data.mapper.ChatMessageMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * 基于聊天记录的上下文加载器
+ * 从chat_message表读取会话的最近消息，恢复到AgentContext的会话历史中
+ *
+ * @author Lake Intelligence Team
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+public class ChatHistoryContextLoader implements AgentContextLoader {
+
+    private final ObjectProvider<ChatMessageMapper> chatMessageMapper;
+
+    public ChatHistoryContextLoader(ObjectProvider<ChatMessageMapper> chatMessageMapper) {
+        this.chatMessageMapper = chatMessageMapper;
+    }
+
+    @Override
+    public void load(AgentContext context, int maxMessages) {
+        ChatMessageMapper mapper = chatMessageMapper.getIfAvailable();
+        if (mapper == null) {
+            log.debug("ChatMessageMapper not available, skipping rehydration of session {}", context.getSessionId());
+            return;
+        }
+
+        // 查询结果按时间倒序，逆序追加以保持时间顺序
+        List<ChatMessage> latest = mapper.findLatestMessagesBySessionId(context.getSessionId(), maxMessages);
+        for (int i = latest.size() - 1; i >= 0; i--) {
+            context.appendHistory(toMessage(latest.get(i)), maxMessages);
+        }
+        log.debug("Rehydrated {} messages for session {}", latest.size(), context.getSessionId());
+    }
+
+    private Message toMessage(ChatMessage chatMessage) {
+        // 类型缺失的记录按用户消息处理，避免整个会话历史恢复失败
+        String messageType = chatMessage.getMessageType() != null ? chatMessage.getMessageType() : "USER";
+        MessageType type = switch (messageType) {
+            case "AGENT" -> MessageType.RESPONSE;
+            case "SYSTEM" -> MessageType.SYSTEM;
+            default -> MessageType.TEXT;
+        };
+
+        return Message.builder()
+                .id(chatMessage.getId())
+                .type(type)
+                .content(chatMessage.getContent())
+                .sender(chatMessage.getSenderId())
+                .timestamp(chatMessage.getCreateTime())
+                .status(Message.MessageStatus.PROCESSED)
+                .priority(Message.Priority.NORMAL)
+                .build();
+    }
+}
\ No newline at end of file
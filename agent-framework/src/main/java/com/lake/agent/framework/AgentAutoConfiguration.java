@@ -1,8 +1,16 @@
 package com.lake.agent.framework;
 
 import com.lake.agent.core.Agent;
+import com.lake.agent.core.AgentFactory;
 import com.lake.agent.core.AgentManager;
+import com.lake.agent.core.context.AgentContextLoader;
+import com.lake.agent.core.context.ConversationSummarizer;
+import com.lake.agent.core.execution.AgentExecutionListener;
+import com.lake.agent.framework.context.AgentContextStore;
+import com.lake.agent.framework.routing.AgentMessageRouter;
+import com.lake.agent.framework.scheduling.PriorityTaskQueue;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
@@ -11,7 +19,8 @@ import org.springframework.context.ApplicationContext;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.ComponentScan;
 
-import java.util.Map;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Agent自动配置类
@@ -34,21 +43,59 @@ public class AgentAutoConfiguration {
     }
 
     /**
-     * 创建默认的Agent管理器
+     * 创建按消息优先级调度的任务队列
      */
     @Bean
     @ConditionalOnMissingBean
-    public AgentManager agentManager(ApplicationContext applicationContext) {
+    public PriorityTaskQueue agentTaskQueue() {
+        return new PriorityTaskQueue(agentProperties.getManager().getAsync().getQueueCapacity(),
+                agentProperties.getManager().getScheduling());
+    }
+
+    /**
+     * 创建默认的Agent管理器
+     */
+    @Bean(destroyMethod = "shutdown")
+    @ConditionalOnMissingBean
+    public AgentManager agentManager(ApplicationContext applicationContext, PriorityTaskQueue agentTaskQueue,
+                                     ObjectProvider<AgentExecutionListener> executionListeners) {
         log.info("Creating default AgentManager");
-        DefaultAgentManager manager = new DefaultAgentManager(agentProperties);
+        DefaultAgentManager manager = new DefaultAgentManager(agentProperties, agentTaskQueue);
+        manager.setExecutionListeners(executionListeners.orderedStream().toList());
 
-        // 自动注册所有Agent Bean
-        Map<String, Agent> agents = applicationContext.getBeansOfType(Agent.class);
-        agents.values().forEach(agent -> {
+        // 自动注册所有Agent Bean和由Agent工厂创建的副本池
+        List<Agent> agents = new ArrayList<>();
+        applicationContext.getBeansOfType(Agent.class).values().forEach(agent -> {
             log.info("Auto-registering agent: {}", agent.getId());
-            manager.registerAgent(agent);
+            agents.add(agent);
         });
+        applicationContext.getBeansOfType(AgentFactory.class).values().forEach(factory -> {
+            log.info("Auto-registering agent pool: {}", factory.getAgentId());
+            agents.add(manager.createPool(factory));
+        });
+        manager.registerAgents(agents);
 
         return manager;
     }
+
+    /**
+     * 创建Agent间消息路由器
+     */
+    @Bean(destroyMethod = "shutdown")
+    @ConditionalOnMissingBean
+    public AgentMessageRouter agentMessageRouter(AgentManager agentManager) {
+        log.info("Creating AgentMessageRouter");
+        return new AgentMessageRouter(agentManager, agentProperties);
+    }
+
+    /**
+     * 创建会话上下文缓存
+     */
+    @Bean(destroyMethod = "shutdown")
+    @ConditionalOnMissingBean
+    public AgentContextStore agentContextStore(ObjectProvider<AgentContextLoader> contextLoader,
+                                               ObjectProvider<ConversationSummarizer> summarizer) {
+        log.info("Creating AgentContextStore");
+        return new AgentContextStore(agentProperties, contextLoader.getIfAvailable(), summarizer.getIfAvailable());
+    }
 }
\ No newline at end of file
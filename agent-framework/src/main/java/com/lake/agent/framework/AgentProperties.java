@@ -1,10 +1,17 @@
 package com.lake.agent.framework;
 
+import com.lake.agent.core.message.Message;
+import com.lake.agent.framework.pool.ReplicaSelection;
 import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+import java.util.ArrayList;
+import java.util.EnumMap;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * Agent配置属性
@@ -26,6 +33,16 @@ public class AgentProperties {
      */
     private Manager manager = new Manager();
 
+    /**
+     * 会话上下文缓存配置
+     */
+    private Context context = new Context();
+
+    /**
+     * Agent间消息路由配置
+     */
+    private Router router = new Router();
+
     /**
      * AI模型配置
      */
@@ -36,6 +53,16 @@ public class AgentProperties {
      */
     private Tools tools = new Tools();
 
+    /**
+     * 日志配置，由logback-spring.xml在启动时读取
+     */
+    private Logging logging = new Logging();
+
+    /**
+     * JFR录制配置
+     */
+    private Jfr jfr = new Jfr();
+
     /**
      * 扩展属性
      */
@@ -57,24 +84,476 @@ public class AgentProperties {
          * 是否启用Agent监控
          */
         private boolean monitoring = true;
+
+        /**
+         * 批量处理时单个Agent同时执行的最大消息数
+         */
+        private int batchParallelism = 16;
+
+        /**
+         * 异步处理线程池配置
+         */
+        private Async async = new Async();
+
+        /**
+         * 按消息优先级调度的配置
+         */
+        private Scheduling scheduling = new Scheduling();
+
+        /**
+         * 单个Agent的并发隔离配置
+         */
+        private Bulkhead bulkhead = new Bulkhead();
+
+        /**
+         * Agent副本池配置
+         */
+        private Pool pool = new Pool();
+
+        /**
+         * 启动时Agent初始化配置
+         */
+        private Startup startup = new Startup();
+
+        /**
+         * 空闲Agent钝化配置
+         */
+        private Passivation passivation = new Passivation();
+
+        /**
+         * Agent预热配置
+         */
+        private Warmup warmup = new Warmup();
+
+        /**
+         * 响应缓存配置
+         */
+        private ResponseCache responseCache = new ResponseCache();
+    }
+
+    @Data
+    public static class ResponseCache {
+        /**
+         * 是否为实现了CacheableAgent的Agent启用响应缓存
+         */
+        private boolean enabled = false;
+
+        /**
+         * 所有Agent共享的最大缓存条目数
+         */
+        private int maxEntries = 10000;
+
+        /**
+         * 缓存条目的默认存活时间（毫秒）
+         */
+        private long ttl = 60000;
+    }
+
+    @Data
+    public static class Warmup {
+        /**
+         * 是否在Agent对外可用前执行预热
+         */
+        private boolean enabled = false;
+
+        /**
+         * 预热用的合成消息内容
+         */
+        private List<String> messages = new ArrayList<>();
+
+        /**
+         * 单个Agent的预热时间预算（毫秒）
+         */
+        private long budget = 5000;
+
+        /**
+         * 判定稳定前至少执行的轮数
+         */
+        private int minRounds = 3;
+
+        /**
+         * 最多执行的轮数
+         */
+        private int maxRounds = 50;
+
+        /**
+         * 相邻两轮平均处理时间的相对变化容差
+         */
+        private double tolerance = 0.1;
+    }
+
+    @Data
+    public static class Passivation {
+        /**
+         * 是否启用空闲钝化
+         */
+        private boolean enabled = false;
+
+        /**
+         * 空闲超过该时间（毫秒）的Agent将被销毁，下次使用时重新初始化
+         */
+        private long idleTimeout = 600000;
+
+        /**
+         * 空闲检查间隔（毫秒），小于等于0时取空闲阈值的一半
+         */
+        private long checkInterval = 60000;
+
+        /**
+         * 不参与钝化的Agent，按Agent名称或ID匹配
+         * 普通Agent的ID在每次启动时随机生成，配置中应使用名称；副本池的ID即工厂的逻辑Agent ID，可直接使用
+         */
+        private Set<String> excludes = new HashSet<>();
+    }
+
+    /**
+     * Agent初始化方式
+     */
+    public enum StartupMode {
+        /**
+         * 逐个初始化
+         */
+        SEQUENTIAL,
+
+        /**
+         * 以有限并发同时初始化
+         */
+        PARALLEL,
+
+        /**
+         * 启动时仅注册，首次使用时初始化
+         */
+        LAZY
+    }
+
+    @Data
+    public static class Startup {
+        /**
+         * 初始化方式
+         */
+        private StartupMode mode = StartupMode.SEQUENTIAL;
+
+        /**
+         * 并行初始化时同时初始化的最大Agent数
+         */
+        private int parallelism = Runtime.getRuntime().availableProcessors();
+    }
+
+    @Data
+    public static class Pool {
+        /**
+         * 默认副本数，AgentFactory未指定时使用
+         */
+        private int replicas = 2;
+
+        /**
+         * 副本选择策略
+         */
+        private ReplicaSelection selection = ReplicaSelection.LEAST_IN_FLIGHT;
+
+        /**
+         * 是否按sessionId将同一会话固定到同一副本
+         */
+        private boolean sessionAffinity = true;
+
+        /**
+         * 按逻辑Agent ID指定的副本数，优先级高于AgentFactory和默认值
+         */
+        private Map<String, Integer> sizes = new HashMap<>();
+    }
+
+    @Data
+    public static class Bulkhead {
+        /**
+         * 是否启用并发隔离，默认关闭；启用前应按Agent的实际容量设置以下限制
+         */
+        private boolean enabled = false;
+
+        /**
+         * 单个Agent同时处理的最大请求数
+         */
+        private int maxConcurrent = 16;
+
+        /**
+         * 超出并发限制后允许等待的最大请求数
+         */
+        private int maxWaiting = 32;
+
+        /**
+         * 单个请求的最大等待时间（毫秒）
+         */
+        private long maxWait = 500;
+
+        /**
+         * 拒绝时建议客户端的重试等待时间（毫秒）
+         */
+        private long retryAfter = 1000;
+    }
+
+    @Data
+    public static class Scheduling {
+        /**
+         * 各优先级的调度权重，权重越大获得的执行份额越多
+         */
+        private Map<Message.Priority, Integer> weights = defaultWeights();
+
+        /**
+         * 老化阈值（毫秒），等待超过该时间的任务将被优先调度，防止低优先级任务饿死
+         */
+        private long agingThreshold = 2000;
+
+        /**
+         * 每个优先级保留的等待时间样本数，用于计算百分位
+         */
+        private int waitTimeSamples = 1024;
+
+        private static Map<Message.Priority, Integer> defaultWeights() {
+            Map<Message.Priority, Integer> weights = new EnumMap<>(Message.Priority.class);
+            weights.put(Message.Priority.URGENT, 8);
+            weights.put(Message.Priority.HIGH, 4);
+            weights.put(Message.Priority.NORMAL, 2);
+            weights.put(Message.Priority.LOW, 1);
+            return weights;
+        }
+    }
+
+    @Data
+    public static class Async {
+        /**
+         * 核心线程数
+         */
+        private int corePoolSize = 8;
+
+        /**
+         * 最大线程数
+         */
+        private int maxPoolSize = 32;
+
+        /**
+         * 等待队列容量
+         */
+        private int queueCapacity = 500;
+
+        /**
+         * 空闲线程存活时间（毫秒）
+         */
+        private long keepAlive = 60000;
+    }
+
+    @Data
+    public static class Context {
+        /**
+         * 内存中保留的最大会话数，超出时淘汰最近最少使用的会话
+         */
+        private int maxSessions = 10000;
+
+        /**
+         * 会话空闲过期时间（毫秒）
+         */
+        private long ttl = 1800000;
+
+        /**
+         * 每个会话保留的最大历史消息数
+         */
+        private int historySize = 50;
+
+        /**
+         * 恢复会话历史的线程数
+         */
+        private int loaderThreads = 4;
+
+        /**
+         * 等待恢复的最大会话数，超出时新会话以空的会话历史开始
+         */
+        private int loaderQueueCapacity = 1000;
+
+        /**
+         * 按token预算维护的会话窗口配置
+         */
+        private Window window = new Window();
+    }
+
+    @Data
+    public static class Window {
+        /**
+         * 是否为会话维护token预算窗口和滚动摘要，默认关闭
+         */
+        private boolean enabled = false;
+
+        /**
+         * 窗口内最近消息的token预算
+         */
+        private int maxTokens = 3000;
+
+        /**
+         * 滚动摘要的最大token数
+         */
+        private int summaryTokens = 500;
+
+        /**
+         * 摘要生成方式：extractive为本地抽取，llm为调用模型服务生成（需启用lake.agent.ai）
+         */
+        private String summarizer = "extractive";
+
+        /**
+         * 执行摘要合并的线程数
+         */
+        private int summarizerThreads = 2;
+
+        /**
+         * 等待摘要合并的最大会话数，超出时本次合并推迟到下一轮次
+         */
+        private int summarizerQueueCapacity = 1000;
+    }
+
+    @Data
+    public static class Router {
+        /**
+         * 投递邮箱的工作线程数
+         */
+        private int parallelism = Runtime.getRuntime().availableProcessors();
+
+        /**
+         * 单个邮箱每次调度最多处理的消息数，避免某个Agent长期占用工作线程
+         */
+        private int throughput = 32;
+
+        /**
+         * 单个邮箱的最大积压消息数
+         */
+        private int mailboxCapacity = 10000;
     }
 
     @Data
     public static class Ai {
+        /**
+         * 是否注册基于模型服务的LlmAgent
+         */
+        private boolean enabled = false;
+
         /**
          * 默认AI模型提供商
          */
         private String provider = "openai";
 
         /**
-         * 模型配置
+         * 默认模型，请求未指定模型时使用
+         */
+        private String defaultModel = "gpt-3.5-turbo";
+
+        /**
+         * 各模型的配置，按模型名称索引
          */
-        private Map<String, Object> models = new HashMap<>();
+        private Map<String, ModelConfig> models = new HashMap<>();
 
         /**
          * API配置
          */
         private Map<String, String> apiConfig = new HashMap<>();
+
+        /**
+         * 系统提示词，为空时不发送
+         */
+        private String systemPrompt;
+
+        /**
+         * 采样温度，为空时使用模型服务的默认值
+         */
+        private Double temperature;
+
+        /**
+         * 单次回复的最大token数，为空时使用模型服务的默认值
+         */
+        private Integer maxTokens;
+
+        /**
+         * 模型服务HTTP客户端配置
+         */
+        private Http http = new Http();
+
+        /**
+         * 补全缓存配置，各模型还需在models中以cache: true开启
+         */
+        private CompletionCache cache = new CompletionCache();
+    }
+
+    @Data
+    public static class ModelConfig {
+        /**
+         * 是否缓存该模型的补全结果，需同时启用lake.agent.ai.cache
+         */
+        private boolean cache = false;
+
+        /**
+         * 该模型补全缓存的存活时间（毫秒），为空时使用lake.agent.ai.cache.ttl
+         */
+        private Long cacheTtl;
+    }
+
+    @Data
+    public static class CompletionCache {
+        /**
+         * 是否启用补全缓存
+         */
+        private boolean enabled = false;
+
+        /**
+         * 最大缓存条目数
+         */
+        private int maxEntries = 10000;
+
+        /**
+         * 缓存内容占用的最大内存（字节，按字符数估算）
+         */
+        private long maxMemory = 64L * 1024 * 1024;
+
+        /**
+         * 缓存条目的默认存活时间（毫秒），可在模型配置中以cache-ttl覆盖
+         */
+        private long ttl = 3600000;
+
+        /**
+         * 持久化文件路径，为空时不持久化；启动时加载、关闭时写入
+         */
+        private String persistPath;
+    }
+
+    @Data
+    public static class Http {
+        /**
+         * 所有LLM Agent共享的最大连接数
+         */
+        private int maxConnections = 500;
+
+        /**
+         * 等待获取连接的最大请求数，超出时立即失败
+         */
+        private int pendingAcquireMaxCount = 1000;
+
+        /**
+         * 等待获取连接的超时时间（毫秒）
+         */
+        private long pendingAcquireTimeout = 5000;
+
+        /**
+         * 连接最大空闲时间（毫秒）
+         */
+        private long maxIdleTime = 30000;
+
+        /**
+         * 连接最大存活时间（毫秒）
+         */
+        private long maxLifeTime = 300000;
+
+        /**
+         * 建立连接的超时时间（毫秒）
+         */
+        private int connectTimeout = 5000;
+
+        /**
+         * 等待响应的超时时间（毫秒）
+         */
+        private long responseTimeout = 60000;
     }
 
     @Data
@@ -94,4 +573,50 @@ public class AgentProperties {
          */
         private Map<String, Object> config = new HashMap<>();
     }
+
+    @Data
+    public static class Logging {
+        /**
+         * 单条日志消息的最大长度，超出部分截断
+         */
+        private int maxMessageLength = 512;
+
+        /**
+         * prod环境异步日志队列的容量
+         */
+        private int queueSize = 8192;
+
+        /**
+         * lake.agent.request请求日志的采样率，取值0到1
+         */
+        private double requestSampleRate = 1.0;
+
+        /**
+         * com.lake.agent的DEBUG日志采样率，取值0到1
+         */
+        private double debugSampleRate = 1.0;
+    }
+
+    @Data
+    public static class Jfr {
+        /**
+         * 是否在启动时开始录制
+         */
+        private boolean recordOnStartup = false;
+
+        /**
+         * 录制使用的JDK配置名称：default或profile
+         */
+        private String settings = "default";
+
+        /**
+         * 录制数据的最长保留时间（毫秒），0表示不限制
+         */
+        private long maxAge = 3600000;
+
+        /**
+         * 停止录制时写入录制文件的目录
+         */
+        private String directory = System.getProperty("java.io.tmpdir");
+    }
 }
\ No newline at end of file
@@ -1,14 +1,47 @@
 package com.lake.agent.framework;
 
+import com.lake.agent.core.AbstractAgent;
 import com.lake.agent.core.Agent;
+import com.lake.agent.core.AgentFactory;
 import com.lake.agent.core.AgentManager;
+import com.lake.agent.core.AgentRegistrySnapshot;
+import com.lake.agent.core.cache.CacheableAgent;
+import com.lake.agent.core.cache.ResponseCache;
+import com.lake.agent.core.cache.ResponseCacheStatistics;
+import com.lake.agent.core.execution.AgentActivator;
+import com.lake.agent.core.execution.AgentBulkhead;
+import com.lake.agent.core.execution.AgentExecutionListener;
+import com.lake.agent.core.execution.AgentWarmup;
+import com.lake.agent.core.execution.ProcessOutcome;
+import com.lake.agent.core.message.Message;
+import com.lake.agent.framework.index.AgentNameIndex;
+import com.lake.agent.framework.pool.AgentPool;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.util.StringUtils;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.stream.Collectors;
 
 /**
@@ -20,16 +53,128 @@ import java.util.stream.Collectors;
 @Slf4j
 public class DefaultAgentManager implements AgentManager {
 
+    private static final long TOUCH_GRANULARITY_MILLIS = 1000;
+
     private final ConcurrentMap<String, Agent> agents = new ConcurrentHashMap<>();
+    private final AgentNameIndex nameIndex = new AgentNameIndex();
+    private final ConcurrentMap<String, Object> pendingInit = new ConcurrentHashMap<>();
+    private final Map<String, Long> initTimings = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, AtomicLong> lastUsed = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, AtomicInteger> inFlight = new ConcurrentHashMap<>();
+    private final AgentExecutionListener inFlightTracker = new InFlightTracker();
+    private final AgentActivator activator = this::activate;
+    private final Set<String> passivated = ConcurrentHashMap.newKeySet();
+    private final LongAdder passivations = new LongAdder();
+    private final LongAdder reactivations = new LongAdder();
+    private final ScheduledExecutorService passivationScheduler;
+    private final ResponseCache responseCache;
+    private volatile AgentExecutionListener executionListener = inFlightTracker;
+    private volatile AgentRegistrySnapshot snapshot = AgentRegistrySnapshot.EMPTY;
+    private long snapshotVersion;
     private final AgentProperties properties;
+    private final ThreadPoolExecutor executor;
     private volatile boolean started = false;
 
     public DefaultAgentManager(AgentProperties properties) {
+        this(properties, new ArrayBlockingQueue<>(properties.getManager().getAsync().getQueueCapacity()));
+    }
+
+    /**
+     * 构造函数
+     *
+     * @param properties Agent配置属性
+     * @param workQueue  异步处理线程池的工作队列，决定等待任务的调度顺序
+     */
+    public DefaultAgentManager(AgentProperties properties, BlockingQueue<Runnable> workQueue) {
         this.properties = properties;
+
+        AgentProperties.Async async = properties.getManager().getAsync();
+        this.executor = new ThreadPoolExecutor(
+                async.getCorePoolSize(),
+                Math.max(async.getCorePoolSize(), async.getMaxPoolSize()),
+                async.getKeepAlive(), TimeUnit.MILLISECONDS,
+                workQueue,
+                new CustomizableThreadFactory("agent-exec-"),
+                new ThreadPoolExecutor.AbortPolicy());
+
+        AgentProperties.Passivation passivation = properties.getManager().getPassivation();
+        if (passivation.isEnabled() && passivation.getIdleTimeout() > 0) {
+            long interval = passivation.getCheckInterval() > 0
+                    ? passivation.getCheckInterval()
+                    : Math.max(1000, passivation.getIdleTimeout() / 2);
+            this.passivationScheduler = Executors.newSingleThreadScheduledExecutor(
+                    new CustomizableThreadFactory("agent-passivation-"));
+            passivationScheduler.scheduleWithFixedDelay(this::passivateIdleAgents, interval, interval, TimeUnit.MILLISECONDS);
+        } else {
+            this.passivationScheduler = null;
+        }
+
+        AgentProperties.ResponseCache cache = properties.getManager().getResponseCache();
+        this.responseCache = cache.isEnabled() ? new ResponseCache(cache.getMaxEntries(), cache.getTtl()) : null;
     }
 
     @Override
     public void registerAgent(Agent agent) {
+        addAgent(agent);
+        initializeAgent(agent);
+    }
+
+    /**
+     * 批量注册Agent，按启动配置选择初始化方式
+     * SEQUENTIAL逐个注册并初始化；PARALLEL先注册全部Agent，再以有限并发同时初始化；
+     * LAZY仅注册，在首次通过{@link #getAgent}获取时初始化
+     *
+     * @param batch 要注册的Agent
+     */
+    public void registerAgents(Collection<? extends Agent> batch) {
+        AgentProperties.Startup startup = properties.getManager().getStartup();
+        long start = System.nanoTime();
+
+        switch (startup.getMode()) {
+            case LAZY -> {
+                batch.forEach(agent -> {
+                    addAgent(agent);
+                    pendingInit.put(agent.getId(), new Object());
+                });
+                refreshSnapshot();
+                log.info("Registered {} agents, initialization deferred to first use", batch.size());
+                return;
+            }
+            case PARALLEL -> {
+                batch.forEach(this::addAgent);
+                initializeInParallel(new ArrayList<>(batch), startup.getParallelism());
+            }
+            default -> batch.forEach(this::registerAgent);
+        }
+
+        logInitTimings(startup.getMode(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    /**
+     * 设置Agent执行监听器，对之后注册的Agent生效
+     * 管理器自身统计处理中请求数的监听器始终保留
+     *
+     * @param listeners 监听器列表
+     */
+    public void setExecutionListeners(List<AgentExecutionListener> listeners) {
+        List<AgentExecutionListener> all = new ArrayList<>(listeners);
+        all.add(inFlightTracker);
+        this.executionListener = AgentExecutionListener.compose(all);
+    }
+
+    /**
+     * 获取各Agent的初始化耗时
+     *
+     * @return Agent ID到初始化耗时（毫秒）的映射
+     */
+    public Map<String, Long> getInitTimings() {
+        return Collections.unmodifiableMap(new HashMap<>(initTimings));
+    }
+
+    /**
+     * 校验并加入注册表，不初始化
+     */
+    private void addAgent(Agent agent) {
         if (agent == null) {
             throw new IllegalArgumentException("Agent cannot be null");
         }
@@ -45,18 +190,79 @@ public class DefaultAgentManager implements AgentManager {
         }
 
         agents.put(agentId, agent);
+        lastUsed.put(agentId, new AtomicLong(System.currentTimeMillis()));
+        inFlight.putIfAbsent(agentId, new AtomicInteger());
+        nameIndex.add(agentId, agent.getName());
+        applyRuntimeSettings(agent);
+        // 副本由所属副本池激活，只为注册的Agent设置激活器
+        if (agent instanceof AbstractAgent abstractAgent) {
+            abstractAgent.setActivator(activator);
+        } else if (agent instanceof AgentPool agentPool) {
+            agentPool.setActivator(activator);
+        }
+    }
 
-        // 初始化Agent
+    /**
+     * 初始化已加入注册表的Agent并记录耗时，失败时从注册表移除
+     */
+    private void initializeAgent(Agent agent) {
+        String agentId = agent.getId();
+        long start = System.nanoTime();
         try {
             agent.initialize();
-            log.info("Agent registered and initialized: {} ({})", agent.getName(), agentId);
+            long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            initTimings.put(agentId, elapsed);
+            refreshSnapshot();
+            log.info("Agent registered and initialized: {} ({}) in {}ms", agent.getName(), agentId, elapsed);
         } catch (Exception e) {
             agents.remove(agentId);
+            lastUsed.remove(agentId);
+            inFlight.remove(agentId);
+            nameIndex.remove(agentId);
+            refreshSnapshot();
             log.error("Failed to initialize agent: {} ({})", agent.getName(), agentId, e);
             throw new RuntimeException("Failed to initialize agent: " + agentId, e);
         }
     }
 
+    /**
+     * 注册Agent副本池
+     * 副本池以工厂的逻辑Agent ID注册，每个副本都应用管理器的运行时配置并拥有独立的并发隔离舱
+     *
+     * @param factory Agent工厂
+     * @return 注册的副本池
+     */
+    public AgentPool registerPool(AgentFactory factory) {
+        AgentPool agentPool = createPool(factory);
+        registerAgent(agentPool);
+        return agentPool;
+    }
+
+    /**
+     * 创建Agent副本池，不注册
+     *
+     * @param factory Agent工厂
+     * @return 副本池
+     */
+    public AgentPool createPool(AgentFactory factory) {
+        if (factory == null) {
+            throw new IllegalArgumentException("Agent factory cannot be null");
+        }
+
+        AgentProperties.Pool pool = properties.getManager().getPool();
+        Integer configured = pool.getSizes().get(factory.getAgentId());
+        int replicas = configured != null ? configured
+                : factory.getReplicas() > 0 ? factory.getReplicas() : pool.getReplicas();
+
+        String poolId = factory.getAgentId();
+        return new AgentPool(factory, replicas, pool.getSelection(), pool.isSessionAffinity(), replica -> {
+            applyRuntimeSettings(replica);
+            if (replica instanceof AbstractAgent abstractAgent) {
+                abstractAgent.setPoolId(poolId);
+            }
+        });
+    }
+
     @Override
     public boolean unregisterAgent(String agentId) {
         if (!StringUtils.hasText(agentId)) {
@@ -65,13 +271,25 @@ public class DefaultAgentManager implements AgentManager {
 
         Agent agent = agents.remove(agentId);
         if (agent != null) {
+            nameIndex.remove(agentId);
+            lastUsed.remove(agentId);
+            inFlight.remove(agentId);
+            if (responseCache != null) {
+                responseCache.invalidate(agentId);
+            }
             try {
-                agent.destroy();
+                // 已钝化或尚未初始化的Agent无需再次销毁
+                if (pendingInit.remove(agentId) == null) {
+                    agent.destroy();
+                }
+                passivated.remove(agentId);
                 log.info("Agent unregistered and destroyed: {} ({})", agent.getName(), agentId);
                 return true;
             } catch (Exception e) {
                 log.error("Error destroying agent: {} ({})", agent.getName(), agentId, e);
                 return false;
+            } finally {
+                refreshSnapshot();
             }
         }
         return false;
@@ -79,31 +297,98 @@ public class DefaultAgentManager implements AgentManager {
 
     @Override
     public Optional<Agent> getAgent(String agentId) {
-        return Optional.ofNullable(agents.get(agentId));
+        Agent agent = agents.get(agentId);
+        if (agent == null) {
+            return Optional.empty();
+        }
+        if (!activate(agent)) {
+            return Optional.empty();
+        }
+        return Optional.of(agent);
+    }
+
+    /**
+     * 检查Agent是否因空闲而被钝化
+     *
+     * @param agentId Agent ID
+     * @return true如果已钝化，否则false
+     */
+    public boolean isPassivated(String agentId) {
+        return passivated.contains(agentId);
+    }
+
+    /**
+     * 获取累计钝化次数
+     *
+     * @return 钝化次数
+     */
+    public long getPassivationCount() {
+        return passivations.sum();
+    }
+
+    /**
+     * 获取累计重新激活次数
+     *
+     * @return 重新激活次数
+     */
+    public long getReactivationCount() {
+        return reactivations.sum();
     }
 
     @Override
     public List<Agent> findAgentsByName(String name) {
+        return findAgentsByName(name, 0, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public List<Agent> findAgentsByName(String name, int offset, int limit) {
         if (!StringUtils.hasText(name)) {
-            return getAllAgents();
+            return getAllAgents().stream()
+                    .skip(Math.max(0, offset))
+                    .limit(Math.max(0, limit))
+                    .collect(Collectors.toList());
         }
 
-        return agents.values().stream()
-                .filter(agent -> name.equals(agent.getName()) ||
-                        (agent.getName() != null && agent.getName().contains(name)))
-                .collect(Collectors.toList());
+        List<String> agentIds = nameIndex.search(name);
+        List<Agent> result = new ArrayList<>(Math.min(agentIds.size(), Math.max(0, limit)));
+        for (int i = Math.max(0, offset); i < agentIds.size() && result.size() < limit; i++) {
+            // 索引与注册表之间可能存在短暂不一致，以注册表为准
+            Agent agent = agents.get(agentIds.get(i));
+            if (agent != null) {
+                result.add(agent);
+            }
+        }
+        return result;
     }
 
     @Override
     public List<Agent> getAllAgents() {
-        return agents.values().stream().collect(Collectors.toList());
+        return snapshot.getAgents();
     }
 
     @Override
     public List<Agent> getAvailableAgents() {
-        return agents.values().stream()
-                .filter(Agent::isAvailable)
-                .collect(Collectors.toList());
+        return snapshot.getAvailableAgents();
+    }
+
+    @Override
+    public AgentRegistrySnapshot getSnapshot() {
+        return snapshot;
+    }
+
+    @Override
+    public Map<String, ResponseCacheStatistics> getResponseCacheStatistics() {
+        return responseCache != null ? responseCache.getStatistics() : Collections.emptyMap();
+    }
+
+    /**
+     * 重新生成注册表快照
+     * 注册、注销和停止时自动调用；Agent自行改变可用状态后，可调用此方法使快照反映最新状态
+     */
+    public synchronized void refreshSnapshot() {
+        // 待初始化（延迟注册或已钝化）的Agent在下次获取时自动激活，对外视为可用
+        snapshot = new AgentRegistrySnapshot(++snapshotVersion, agents.values(),
+                agent -> agent.isAvailable() || pendingInit.containsKey(agent.getId()));
     }
 
     @Override
@@ -132,8 +417,11 @@ public class DefaultAgentManager implements AgentManager {
 
         log.info("Stopping AgentManager...");
 
-        // 销毁所有Agent
+        // 销毁所有Agent，已钝化或尚未初始化的Agent除外
         agents.values().forEach(agent -> {
+            if (pendingInit.containsKey(agent.getId())) {
+                return;
+            }
             try {
                 agent.destroy();
                 log.debug("Agent destroyed: {} ({})", agent.getName(), agent.getId());
@@ -143,13 +431,18 @@ public class DefaultAgentManager implements AgentManager {
         });
 
         agents.clear();
+        pendingInit.clear();
+        passivated.clear();
+        lastUsed.clear();
+        nameIndex.clear();
+        refreshSnapshot();
         started = false;
         log.info("AgentManager stopped");
     }
 
     @Override
     public int getAgentCount() {
-        return agents.size();
+        return snapshot.getTotalCount();
     }
 
     @Override
@@ -158,4 +451,235 @@ public class DefaultAgentManager implements AgentManager {
         stop();
         start();
     }
+
+    /**
+     * 获取或处理消息前激活Agent：已钝化或延迟注册的Agent在此初始化，并发调用等待同一次初始化
+     * 先记录使用时间再检查是否待初始化，与钝化时的先标记后复查配合，避免使用即将被销毁的Agent
+     *
+     * @return false如果初始化失败，Agent已从注册表移除
+     */
+    private boolean activate(Agent agent) {
+        touch(agent.getId());
+        return pendingInit.isEmpty() || initializeLazily(agent);
+    }
+
+    /**
+     * 首次使用时初始化延迟注册的Agent，并发获取同一Agent的线程等待初始化完成
+     *
+     * @return false如果初始化失败，Agent已从注册表移除
+     */
+    private boolean initializeLazily(Agent agent) {
+        String agentId = agent.getId();
+        Object lock = pendingInit.get(agentId);
+        if (lock == null) {
+            return true;
+        }
+
+        synchronized (lock) {
+            if (pendingInit.get(agentId) != lock) {
+                return agents.containsKey(agentId);
+            }
+            try {
+                initializeAgent(agent);
+                if (passivated.contains(agentId)) {
+                    reactivations.increment();
+                    log.info("Agent reactivated: {} ({})", agent.getName(), agentId);
+                }
+                return true;
+            } catch (RuntimeException e) {
+                return false;
+            } finally {
+                passivated.remove(agentId);
+                pendingInit.remove(agentId);
+            }
+        }
+    }
+
+    private void touch(String agentId) {
+        AtomicLong used = lastUsed.get(agentId);
+        if (used != null) {
+            long now = System.currentTimeMillis();
+            // 降低高频请求下对同一计数器的写竞争，精度远小于空闲阈值即可
+            if (now - used.get() >= TOUCH_GRANULARITY_MILLIS) {
+                used.set(now);
+            }
+        }
+    }
+
+    /**
+     * 钝化空闲超过阈值的Agent：销毁其资源但保留注册，下次获取或处理消息时重新初始化
+     */
+    private void passivateIdleAgents() {
+        AgentProperties.Passivation passivation = properties.getManager().getPassivation();
+        long idleTimeout = passivation.getIdleTimeout();
+        long now = System.currentTimeMillis();
+
+        for (Agent agent : agents.values()) {
+            String agentId = agent.getId();
+            AtomicLong used = lastUsed.get(agentId);
+            if (used == null || now - used.get() < idleTimeout
+                    || pendingInit.containsKey(agentId)
+                    || isExcluded(agent, passivation.getExcludes())
+                    || isBusy(agent)) {
+                continue;
+            }
+
+            try {
+                passivate(agent, used, idleTimeout);
+            } catch (Exception e) {
+                log.error("Error passivating agent: {} ({})", agent.getName(), agentId, e);
+            }
+        }
+    }
+
+    private boolean isExcluded(Agent agent, Set<String> excludes) {
+        return !excludes.isEmpty() && (excludes.contains(agent.getId())
+                || agent.getName() != null && excludes.contains(agent.getName()));
+    }
+
+    private void passivate(Agent agent, AtomicLong used, long idleTimeout) {
+        String agentId = agent.getId();
+        Object lock = new Object();
+        synchronized (lock) {
+            if (pendingInit.putIfAbsent(agentId, lock) != null) {
+                return;
+            }
+            // 标记后复查：标记前已获取到该Agent的请求会更新使用时间，此时放弃钝化
+            if (System.currentTimeMillis() - used.get() < idleTimeout || isBusy(agent)) {
+                pendingInit.remove(agentId, lock);
+                return;
+            }
+
+            passivated.add(agentId);
+            agent.destroy();
+            passivations.increment();
+            log.info("Agent passivated after {}ms idle: {} ({})",
+                    System.currentTimeMillis() - used.get(), agent.getName(), agentId);
+        }
+        refreshSnapshot();
+    }
+
+    /**
+     * 检查Agent是否有处理中的请求
+     * 处理中的请求数由管理器的执行监听器统计，副本的请求计入所属副本池；
+     * 无法统计请求数的Agent（未继承AbstractAgent且不是副本池）视为忙碌，不会被钝化
+     */
+    private boolean isBusy(Agent agent) {
+        if (!(agent instanceof AbstractAgent) && !(agent instanceof AgentPool)) {
+            return true;
+        }
+        if (agent instanceof AgentPool pool && pool.getInFlight() > 0) {
+            return true;
+        }
+        AtomicInteger count = inFlight.get(agent.getId());
+        return count != null && count.get() > 0;
+    }
+
+    private void initializeInParallel(List<Agent> batch, int parallelism) {
+        int threads = Math.max(1, Math.min(parallelism, batch.size()));
+        ExecutorService initExecutor = Executors.newFixedThreadPool(threads, new CustomizableThreadFactory("agent-init-"));
+        try {
+            List<CompletableFuture<Void>> futures = new ArrayList<>(batch.size());
+            for (Agent agent : batch) {
+                futures.add(CompletableFuture.runAsync(() -> initializeAgent(agent), initExecutor));
+            }
+
+            List<String> failed = new ArrayList<>();
+            for (int i = 0; i < futures.size(); i++) {
+                try {
+                    futures.get(i).join();
+                } catch (CompletionException e) {
+                    failed.add(batch.get(i).getId());
+                }
+            }
+            if (!failed.isEmpty()) {
+                throw new RuntimeException("Failed to initialize agents: " + failed);
+            }
+        } finally {
+            initExecutor.shutdown();
+        }
+    }
+
+    private void logInitTimings(AgentProperties.StartupMode mode, long wallMillis) {
+        if (initTimings.isEmpty()) {
+            return;
+        }
+
+        List<Map.Entry<String, Long>> timings = new ArrayList<>(initTimings.entrySet());
+        timings.sort(Map.Entry.<String, Long>comparingByValue().reversed());
+        long total = 0;
+        StringBuilder report = new StringBuilder();
+        for (Map.Entry<String, Long> timing : timings) {
+            total += timing.getValue();
+            report.append(System.lineSeparator())
+                    .append("  ").append(timing.getKey()).append(": ").append(timing.getValue()).append("ms");
+        }
+        log.info("Initialized {} agents in {}ms ({} mode, {}ms total agent init time):{}",
+                timings.size(), wallMillis, mode, total, report);
+    }
+
+    /**
+     * 关闭Agent管理器，释放异步处理线程池
+     */
+    public void shutdown() {
+        if (started) {
+            stop();
+        }
+        if (passivationScheduler != null) {
+            passivationScheduler.shutdownNow();
+        }
+        executor.shutdown();
+        log.info("AgentManager executor shut down");
+    }
+
+    /**
+     * 将管理器的运行时配置应用到Agent
+     *
+     * @param agent Agent实例
+     */
+    private void applyRuntimeSettings(Agent agent) {
+        if (agent instanceof AbstractAgent abstractAgent) {
+            abstractAgent.setAsyncExecutor(executor);
+            abstractAgent.setTimeout(properties.getManager().getTimeout());
+            abstractAgent.setBatchParallelism(properties.getManager().getBatchParallelism());
+            abstractAgent.setExecutionListener(executionListener);
+            if (responseCache != null && agent instanceof CacheableAgent) {
+                abstractAgent.setResponseCache(responseCache);
+            }
+
+            AgentProperties.Bulkhead bulkhead = properties.getManager().getBulkhead();
+            if (bulkhead.isEnabled() && bulkhead.getMaxConcurrent() > 0) {
+                abstractAgent.setBulkhead(new AgentBulkhead(bulkhead.getMaxConcurrent(), bulkhead.getMaxWaiting(),
+                        bulkhead.getMaxWait(), bulkhead.getRetryAfter()));
+            }
+
+            AgentProperties.Warmup warmup = properties.getManager().getWarmup();
+            if (warmup.isEnabled()) {
+                abstractAgent.setWarmup(new AgentWarmup(warmup.getMessages(), warmup.getBudget(),
+                        warmup.getMinRounds(), warmup.getMaxRounds(), warmup.getTolerance()));
+            }
+        }
+    }
+
+    /**
+     * 按Agent ID统计处理中的请求数，用于判断Agent能否被钝化
+     */
+    private final class InFlightTracker implements AgentExecutionListener {
+
+        @Override
+        public void onStart(String agentId, Message message) {
+            AtomicInteger count = inFlight.get(agentId);
+            if (count != null) {
+                count.incrementAndGet();
+            }
+        }
+
+        @Override
+        public void onComplete(String agentId, Message message, ProcessOutcome outcome, long durationNanos) {
+            AtomicInteger count = inFlight.get(agentId);
+            if (count != null) {
+                count.decrementAndGet();
+            }
+        }
+    }
 }
\ No newline at end of file
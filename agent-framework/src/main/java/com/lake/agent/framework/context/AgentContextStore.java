@@ -0,0 +1,411 @@
+package com.lake.agent.framework.context;
+
+import com.lake.agent.core.context.AgentContext;
+import com.lake.agent.core.context.AgentContextLoader;
+import com.lake.agent.core.context.ConversationSummarizer;
+import com.lake.agent.core.context.ConversationWindow;
+import com.lake.agent.core.message.Message;
+import com.lake.agent.framework.AgentProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.util.StringUtils;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * 会话上下文缓存
+ * 按sessionId在内存中保留AgentContext，按容量（LRU）和空闲时间淘汰，处理链未完成的会话不会被淘汰；
+ * 未命中时通过{@link AgentContextLoader}在后台从持久化存储恢复会话历史，恢复作为该会话的第一个处理阶段。
+ * 同一会话的多个对话轮次通过{@link #executeInSession}串行执行，保证会话状态一致。
+ * 启用会话窗口时，对话轮次同时记录到按token预算维护的{@link ConversationWindow}中，
+ * 移出窗口的消息由{@link ConversationSummarizer}在后台合并为滚动摘要
+ *
+ * @author Lake Intelligence Team
+ * @since 1.0.0
+ */
+@Slf4j
+public class AgentContextStore {
+
+    private final AgentProperties.Context config;
+    private final AgentContextLoader loader;
+    private final ConversationSummarizer summarizer;
+    private final long ttlMillis;
+    private final Map<String, SessionEntry> sessions;
+    private final ScheduledExecutorService sweeper;
+    private final ExecutorService loaderExecutor;
+    private final ExecutorService summarizerExecutor;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+    private final LongAdder rehydrations = new LongAdder();
+    private final LongAdder folds = new LongAdder();
+    private final LongAdder foldFailures = new LongAdder();
+
+    /**
+     * 构造函数
+     *
+     * @param properties Agent配置属性
+     * @param loader     上下文加载器，为空时不从持久化存储恢复
+     */
+    public AgentContextStore(AgentProperties properties, AgentContextLoader loader) {
+        this(properties, loader, null);
+    }
+
+    /**
+     * 构造函数
+     *
+     * @param properties Agent配置属性
+     * @param loader     上下文加载器，为空时不从持久化存储恢复
+     * @param summarizer 会话摘要生成器，为空时使用本地抽取式摘要
+     */
+    public AgentContextStore(AgentProperties properties, AgentContextLoader loader, ConversationSummarizer summarizer) {
+        this.config = properties.getContext();
+        this.loader = loader;
+        this.summarizer = summarizer != null ? summarizer : new ExtractiveConversationSummarizer();
+        this.ttlMillis = config.getTtl();
+
+        int maxSessions = config.getMaxSessions();
+        this.sessions = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, SessionEntry> eldest) {
+                if (size() <= maxSessions) {
+                    return false;
+                }
+                // 跳过仍在恢复或有轮次执行中的会话，淘汰最近最少使用的空闲会话；全部繁忙时暂时超出容量
+                Iterator<Map.Entry<String, SessionEntry>> it = entrySet().iterator();
+                while (it.hasNext()) {
+                    Map.Entry<String, SessionEntry> candidate = it.next();
+                    if (candidate.getValue().isIdle()) {
+                        it.remove();
+                        evictions.increment();
+                        log.debug("Evicting least recently used session: {}", candidate.getKey());
+                        break;
+                    }
+                }
+                return false;
+            }
+        };
+
+        this.sweeper = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("agent-context-sweeper-"));
+        if (ttlMillis > 0) {
+            long interval = Math.max(1000, ttlMillis / 2);
+            sweeper.scheduleWithFixedDelay(this::evictExpired, interval, interval, TimeUnit.MILLISECONDS);
+        }
+        this.loaderExecutor = loader != null
+                ? new ThreadPoolExecutor(config.getLoaderThreads(), config.getLoaderThreads(), 0, TimeUnit.MILLISECONDS,
+                        new ArrayBlockingQueue<>(config.getLoaderQueueCapacity()),
+                        new CustomizableThreadFactory("agent-context-loader-"),
+                        new ThreadPoolExecutor.AbortPolicy())
+                : null;
+        AgentProperties.Window window = config.getWindow();
+        this.summarizerExecutor = window.isEnabled()
+                ? new ThreadPoolExecutor(window.getSummarizerThreads(), window.getSummarizerThreads(), 0, TimeUnit.MILLISECONDS,
+                        new ArrayBlockingQueue<>(window.getSummarizerQueueCapacity()),
+                        new CustomizableThreadFactory("agent-context-summarizer-"),
+                        new ThreadPoolExecutor.AbortPolicy())
+                : null;
+    }
+
+    /**
+     * 获取会话上下文的轮次视图，会话不存在时创建并等待恢复会话历史
+     *
+     * @param sessionId 会话ID，为空时返回不缓存的新上下文
+     * @param userId    用户ID
+     * @param agentId   Agent ID
+     * @param deadline  轮次截止时间（epoch毫秒），0表示不限制
+     * @return 轮次上下文
+     */
+    public AgentContext getOrCreate(String sessionId, String userId, String agentId, long deadline) {
+        if (!StringUtils.hasText(sessionId)) {
+            return AgentContext.builder()
+                    .userId(userId)
+                    .agentId(agentId)
+                    .deadline(deadline)
+                    .build();
+        }
+
+        SessionEntry entry = acquire(sessionId, userId);
+        entry.loaded.join();
+        return entry.context.forTurn(agentId, deadline);
+    }
+
+    /**
+     * 在会话内执行一个对话轮次
+     * 同一会话的轮次按提交顺序串行执行，前一轮次失败不影响后续轮次；新会话的第一个轮次在会话历史恢复完成后执行。
+     * 轮次收到的是会话上下文的视图，Agent ID和截止时间只属于该轮次，不修改缓存的会话上下文
+     *
+     * @param sessionId 会话ID，为空时直接执行
+     * @param userId    用户ID
+     * @param agentId   Agent ID
+     * @param deadline  轮次截止时间（epoch毫秒），0表示不限制；排队等待的时间也计入
+     * @param turn      对话轮次
+     * @param <T>       结果类型
+     * @return 轮次结果
+     */
+    public <T> CompletableFuture<T> executeInSession(String sessionId, String userId, String agentId, long deadline,
+                                                     Function<AgentContext, CompletableFuture<T>> turn) {
+        if (!StringUtils.hasText(sessionId)) {
+            return turn.apply(getOrCreate(null, userId, agentId, deadline));
+        }
+
+        SessionEntry entry = acquire(sessionId, userId);
+        AgentContext context = entry.context.forTurn(agentId, deadline);
+        synchronized (entry) {
+            CompletableFuture<T> result = entry.tail
+                    .handle((previous, ex) -> null)
+                    .thenCompose(ignored -> turn.apply(context));
+            entry.tail = result;
+            return result;
+        }
+    }
+
+    /**
+     * 记录一个对话轮次到会话历史
+     *
+     * @param context  会话上下文
+     * @param request  请求消息
+     * @param response 响应消息
+     */
+    public void recordTurn(AgentContext context, Message request, Message response) {
+        // 先初始化窗口，避免本轮消息在初始化时被重复追加
+        ConversationWindow window = getWindow(context);
+
+        int historySize = config.getHistorySize();
+        context.appendHistory(request, historySize);
+        if (response != null) {
+            context.appendHistory(response, historySize);
+        }
+
+        if (window != null) {
+            window.append(request);
+            if (response != null) {
+                window.append(response);
+            }
+            fold(context.getSessionId(), window);
+        }
+    }
+
+    /**
+     * 移除会话上下文
+     *
+     * @param sessionId 会话ID
+     */
+    public void invalidate(String sessionId) {
+        synchronized (sessions) {
+            sessions.remove(sessionId);
+        }
+    }
+
+    /**
+     * 获取缓存统计信息
+     *
+     * @return 统计信息
+     */
+    public ContextStoreStatistics getStatistics() {
+        int size;
+        synchronized (sessions) {
+            size = sessions.size();
+        }
+        return ContextStoreStatistics.builder()
+                .size(size)
+                .hits(hits.sum())
+                .misses(misses.sum())
+                .evictions(evictions.sum())
+                .expirations(expirations.sum())
+                .rehydrations(rehydrations.sum())
+                .folds(folds.sum())
+                .foldFailures(foldFailures.sum())
+                .build();
+    }
+
+    /**
+     * 关闭缓存，停止过期清理和摘要任务
+     */
+    public void shutdown() {
+        sweeper.shutdownNow();
+        if (loaderExecutor != null) {
+            loaderExecutor.shutdownNow();
+        }
+        if (summarizerExecutor != null) {
+            summarizerExecutor.shutdownNow();
+        }
+    }
+
+    private SessionEntry acquire(String sessionId, String userId) {
+        long now = System.currentTimeMillis();
+        SessionEntry entry;
+        boolean created = false;
+
+        synchronized (sessions) {
+            entry = sessions.get(sessionId);
+            if (entry != null && isExpired(entry, now)) {
+                sessions.remove(sessionId);
+                expirations.increment();
+                entry = null;
+            }
+            if (entry == null) {
+                entry = new SessionEntry(AgentContext.builder()
+                        .sessionId(sessionId)
+                        .userId(userId)
+                        .build());
+                sessions.put(sessionId, entry);
+                created = true;
+            }
+            entry.lastAccess = now;
+        }
+
+        if (created) {
+            misses.increment();
+            load(entry);
+        } else {
+            hits.increment();
+        }
+        return entry;
+    }
+
+    /**
+     * 在加载线程池中恢复会话历史，完成前该会话的轮次在处理链上等待而不占用请求线程；
+     * 没有加载器或加载队列已满时以空的会话历史开始
+     */
+    private void load(SessionEntry entry) {
+        if (loaderExecutor == null) {
+            entry.loaded.complete(null);
+            return;
+        }
+        try {
+            loaderExecutor.execute(() -> {
+                try {
+                    rehydrate(entry.context);
+                } finally {
+                    entry.loaded.complete(null);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            log.warn("Rehydration queue is full, starting session {} with empty history", entry.context.getSessionId());
+            entry.loaded.complete(null);
+        }
+    }
+
+    /**
+     * 获取会话窗口，首次访问时以已恢复的会话历史初始化
+     */
+    private ConversationWindow getWindow(AgentContext context) {
+        AgentProperties.Window windowConfig = config.getWindow();
+        if (!windowConfig.isEnabled() || !StringUtils.hasText(context.getSessionId())) {
+            return null;
+        }
+
+        ConversationWindow window = context.get(ConversationWindow.KEY);
+        if (window == null) {
+            window = new ConversationWindow(windowConfig.getMaxTokens(), config.getHistorySize());
+            for (Message message : context.getHistoryMessages()) {
+                window.append(message);
+            }
+            context.put(ConversationWindow.KEY, window);
+        }
+        return window;
+    }
+
+    /**
+     * 在后台将移出窗口的消息合并到滚动摘要，合并期间新移出的消息在本次完成后继续合并；
+     * 摘要队列已满时按失败处理，消息放回窗口在下一轮次重试
+     */
+    private void fold(String sessionId, ConversationWindow window) {
+        List<Message> batch = window.beginFold();
+        if (batch == null) {
+            return;
+        }
+
+        int summaryTokens = config.getWindow().getSummaryTokens();
+        CompletableFuture<CompletableFuture<String>> submitted;
+        try {
+            submitted = CompletableFuture.supplyAsync(
+                    () -> summarizer.summarize(window.getSummary(), batch, summaryTokens), summarizerExecutor);
+        } catch (RejectedExecutionException e) {
+            submitted = CompletableFuture.failedFuture(e);
+        }
+        submitted
+                .thenCompose(summary -> summary)
+                .whenComplete((summary, ex) -> {
+                    if (ex != null) {
+                        foldFailures.increment();
+                        if (window.abortFold(batch)) {
+                            log.warn("Failed to summarize {} messages for session {}, will retry on the next turn",
+                                    batch.size(), sessionId, ex);
+                        } else {
+                            log.error("Giving up summarizing {} messages for session {} after {} retries",
+                                    batch.size(), sessionId, ConversationWindow.MAX_FOLD_RETRIES, ex);
+                        }
+                        return;
+                    }
+                    window.completeFold(summary);
+                    folds.increment();
+                    fold(sessionId, window);
+                });
+    }
+
+    private void rehydrate(AgentContext context) {
+        if (loader == null) {
+            return;
+        }
+        try {
+            loader.load(context, config.getHistorySize());
+            rehydrations.increment();
+        } catch (Exception e) {
+            log.warn("Failed to rehydrate session {}, starting with empty history", context.getSessionId(), e);
+        }
+    }
+
+    private void evictExpired() {
+        long now = System.currentTimeMillis();
+        synchronized (sessions) {
+            Iterator<SessionEntry> it = sessions.values().iterator();
+            while (it.hasNext()) {
+                if (isExpired(it.next(), now)) {
+                    it.remove();
+                    expirations.increment();
+                }
+            }
+        }
+    }
+
+    private boolean isExpired(SessionEntry entry, long now) {
+        return ttlMillis > 0 && now - entry.lastAccess > ttlMillis && entry.isIdle();
+    }
+
+    /**
+     * 缓存的会话
+     */
+    private static final class SessionEntry {
+        private final AgentContext context;
+        private final CompletableFuture<Void> loaded = new CompletableFuture<>();
+        private volatile long lastAccess;
+        private volatile CompletableFuture<?> tail = loaded;
+
+        SessionEntry(AgentContext context) {
+            this.context = context;
+        }
+
+        /**
+         * 会话历史已恢复且没有排队或执行中的轮次
+         */
+        boolean isIdle() {
+            return tail.isDone();
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,67 @@
+package com.lake.agent.framework.context;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 会话上下文缓存统计信息
+ *
+ * @author Lake Intelligence Team
+ * @since 1.0.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ContextStoreStatistics {
+
+    /**
+     * 当前缓存的会话数
+     */
+    private int size;
+
+    /**
+     * 命中次数
+     */
+    private long hits;
+
+    /**
+     * 未命中次数
+     */
+    private long misses;
+
+    /**
+     * 因容量不足淘汰的会话数
+     */
+    private long evictions;
+
+    /**
+     * 因空闲过期淘汰的会话数
+     */
+    private long expirations;
+
+    /**
+     * 从持久化存储恢复的会话数
+     */
+    private long rehydrations;
+
+    /**
+     * 合并到会话摘要的次数
+     */
+    private long folds;
+
+    /**
+     * 会话摘要合并失败次数
+     */
+    private long foldFailures;
+
+    /**
+     * 命中率百分比
+     */
+    public double getHitRatio() {
+        long total = hits + misses;
+        return total > 0 ? (double) hits / total * 100 : 0;
+    }
+}
\ No newline at end of file
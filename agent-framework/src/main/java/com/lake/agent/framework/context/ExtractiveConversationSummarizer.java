@@ -0,0 +1,62 @@
+package com.lake.agent.framework.context;
+
+import com.lake.agent.core.context.ConversationSummarizer;
+import com.lake.agent.core.context.TokenEstimator;
+import com.lake.agent.core.message.Message;
+import com.lake.agent.core.message.MessageType;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 本地抽取式会话摘要
+ * 每条消息截取开头部分，以"角色: 内容"的形式逐行追加到已有摘要之后，
+ * 超出token上限时丢弃最早的行。不调用模型服务，作为默认的摘要方式
+ *
+ * @author Lake Intelligence Team
+ * @since 1.0.0
+ */
+public class ExtractiveConversationSummarizer implements ConversationSummarizer {
+
+    /**
+     * 每条消息保留的最大字符数
+     */
+    private static final int MAX_LINE_LENGTH = 200;
+
+    @Override
+    public CompletableFuture<String> summarize(String summary, List<Message> messages, int maxTokens) {
+        List<String> lines = new ArrayList<>();
+        if (summary != null && !summary.isEmpty()) {
+            lines.addAll(summary.lines().toList());
+        }
+        for (Message message : messages) {
+            if (message.getType() == MessageType.ERROR || message.getContent() == null) {
+                continue;
+            }
+            lines.add(toLine(message));
+        }
+
+        // 从最新的行向前保留，直到达到token上限
+        int tokens = 0;
+        int first = lines.size();
+        while (first > 0) {
+            int lineTokens = TokenEstimator.count(lines.get(first - 1)) + 1;
+            if (tokens + lineTokens > maxTokens) {
+                break;
+            }
+            tokens += lineTokens;
+            first--;
+        }
+        return CompletableFuture.completedFuture(String.join("\n", lines.subList(first, lines.size())));
+    }
+
+    private String toLine(Message message) {
+        String role = message.getType() == MessageType.RESPONSE ? "assistant" : "user";
+        String content = message.getContent().replaceAll("\\s+", " ").trim();
+        if (content.length() > MAX_LINE_LENGTH) {
+            content = content.substring(0, MAX_LINE_LENGTH) + "...";
+        }
+        return role + ": " + content;
+    }
+}
\ No newline at end of file
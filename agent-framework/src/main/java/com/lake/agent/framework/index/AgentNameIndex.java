@@ -0,0 +1,155 @@
+package com.lake.agent.framework.index;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Agent名称索引
+ * 维护名称到Agent ID的精确映射和名称n-gram倒排索引，按名称查找时无需扫描所有Agent。
+ * 查询串不超过{@link #GRAM_SIZE}个字符时直接命中对应的倒排表；更长的查询串取各三元组倒排表的交集后再校验子串。
+ * 结果按精确匹配、前缀匹配、子串匹配排序，同级按名称和ID排序，保证分页稳定
+ *
+ * @author Lake Intelligence Team
+ * @since 1.0.0
+ */
+public class AgentNameIndex {
+
+    /**
+     * 倒排索引的最大n-gram长度
+     */
+    private static final int GRAM_SIZE = 3;
+
+    private final Map<String, String> names = new HashMap<>();
+    private final Map<String, Set<String>> grams = new HashMap<>();
+
+    /**
+     * 添加Agent到索引，已存在时按新名称重建
+     *
+     * @param agentId Agent ID
+     * @param name    Agent名称
+     */
+    public synchronized void add(String agentId, String name) {
+        remove(agentId);
+        if (name == null) {
+            return;
+        }
+        names.put(agentId, name);
+        for (String gram : gramsOf(name)) {
+            grams.computeIfAbsent(gram, key -> new HashSet<>()).add(agentId);
+        }
+    }
+
+    /**
+     * 从索引中移除Agent
+     *
+     * @param agentId Agent ID
+     */
+    public synchronized void remove(String agentId) {
+        String name = names.remove(agentId);
+        if (name == null) {
+            return;
+        }
+        for (String gram : gramsOf(name)) {
+            Set<String> ids = grams.get(gram);
+            if (ids != null) {
+                ids.remove(agentId);
+                if (ids.isEmpty()) {
+                    grams.remove(gram);
+                }
+            }
+        }
+    }
+
+    /**
+     * 清空索引
+     */
+    public synchronized void clear() {
+        names.clear();
+        grams.clear();
+    }
+
+    /**
+     * 查找名称包含查询串的Agent
+     *
+     * @param query 查询串，不能为空
+     * @return 按匹配程度排序的Agent ID列表
+     */
+    public List<String> search(String query) {
+        List<Match> matches = new ArrayList<>();
+        synchronized (this) {
+            for (String agentId : candidates(query)) {
+                String name = names.get(agentId);
+                int rank = rank(name, query);
+                if (rank >= 0) {
+                    matches.add(new Match(agentId, name, rank));
+                }
+            }
+        }
+
+        matches.sort(Comparator.comparingInt(Match::rank)
+                .thenComparing(Match::name)
+                .thenComparing(Match::agentId));
+        List<String> result = new ArrayList<>(matches.size());
+        for (Match match : matches) {
+            result.add(match.agentId());
+        }
+        return result;
+    }
+
+    private Set<String> candidates(String query) {
+        if (query.length() <= GRAM_SIZE) {
+            return grams.getOrDefault(query, Collections.emptySet());
+        }
+
+        // 从最小的倒排表开始求交集
+        Set<String> smallest = null;
+        List<Set<String>> postings = new ArrayList<>(query.length() - GRAM_SIZE + 1);
+        for (int i = 0; i + GRAM_SIZE <= query.length(); i++) {
+            Set<String> ids = grams.get(query.substring(i, i + GRAM_SIZE));
+            if (ids == null) {
+                return Collections.emptySet();
+            }
+            postings.add(ids);
+            if (smallest == null || ids.size() < smallest.size()) {
+                smallest = ids;
+            }
+        }
+
+        Set<String> result = new HashSet<>(smallest);
+        for (Set<String> ids : postings) {
+            if (ids != smallest) {
+                result.retainAll(ids);
+            }
+        }
+        return result;
+    }
+
+    private static int rank(String name, String query) {
+        if (name.equals(query)) {
+            return 0;
+        }
+        if (name.startsWith(query)) {
+            return 1;
+        }
+        return name.contains(query) ? 2 : -1;
+    }
+
+    private static Set<String> gramsOf(String name) {
+        Set<String> result = new HashSet<>();
+        for (int length = 1; length <= GRAM_SIZE; length++) {
+            for (int i = 0; i + length <= name.length(); i++) {
+                result.add(name.substring(i, i + length));
+            }
+        }
+        return result;
+    }
+
+    private record Match(String agentId, String name, int rank) {
+    }
+}
\ No newline at end of file
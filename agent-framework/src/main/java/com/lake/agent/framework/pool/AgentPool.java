@@ -0,0 +1,404 @@
+package com.lake.agent.framework.pool;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.lake.agent.core.Agent;
+import com.lake.agent.core.AgentFactory;
+import com.lake.agent.core.IdempotentAgent;
+import com.lake.agent.core.ScalableAgent;
+import com.lake.agent.core.context.AgentContext;
+import com.lake.agent.core.exception.AgentException;
+import com.lake.agent.core.execution.AgentActivator;
+import com.lake.agent.core.message.Message;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.util.StringUtils;
+import reactor.core.publisher.Flux;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Agent副本池
+ * 以一个逻辑Agent ID对外提供服务，内部由工厂创建的多个副本分担请求。
+ * 按处理中请求数选择副本；启用会话亲和时，同一会话在副本数不变的情况下始终路由到同一副本，
+ * 副本数变化时仅有被移除副本上的会话发生迁移
+ *
+ * @author Lake Intelligence Team
+ * @since 1.0.0
+ */
+@Slf4j
+public class AgentPool implements ScalableAgent, IdempotentAgent {
+
+    private static final int MAX_SELECT_ATTEMPTS = 3;
+    private static final Replica[] EMPTY = new Replica[0];
+
+    private final AgentFactory factory;
+    /**
+     * 最近一次请求的副本数，销毁后重新初始化（如钝化后重新激活）时恢复为该值
+     */
+    private volatile int targetReplicas;
+    private final ReplicaSelection selection;
+    private final boolean sessionAffinity;
+    private final Consumer<Agent> customizer;
+    private final AtomicLong replicaSerial = new AtomicLong();
+
+    private volatile Replica[] replicas = EMPTY;
+    private volatile boolean available = false;
+
+    /**
+     * 激活器，由Agent管理器注入，选择副本前重新初始化已钝化的副本池，为空时不检查
+     */
+    private volatile AgentActivator activator;
+
+    /**
+     * 构造函数
+     *
+     * @param factory         副本工厂
+     * @param replicas        初始副本数
+     * @param selection       副本选择策略
+     * @param sessionAffinity 是否按sessionId固定副本
+     * @param customizer      副本初始化前的运行时配置
+     */
+    public AgentPool(AgentFactory factory, int replicas, ReplicaSelection selection,
+                     boolean sessionAffinity, Consumer<Agent> customizer) {
+        if (factory == null) {
+            throw new IllegalArgumentException("Agent factory cannot be null");
+        }
+        this.factory = factory;
+        this.targetReplicas = Math.max(1, replicas);
+        this.selection = selection != null ? selection : ReplicaSelection.LEAST_IN_FLIGHT;
+        this.sessionAffinity = sessionAffinity;
+        this.customizer = customizer != null ? customizer : agent -> { };
+    }
+
+    @Override
+    public String getId() {
+        return factory.getAgentId();
+    }
+
+    @Override
+    public String getName() {
+        return factory.getName();
+    }
+
+    @Override
+    public String getDescription() {
+        return factory.getDescription();
+    }
+
+    @Override
+    public Message process(Message message, AgentContext context) {
+        Replica replica = acquireReplica(context);
+        try {
+            return replica.agent.process(message, context);
+        } finally {
+            replica.release();
+        }
+    }
+
+    @Override
+    public CompletableFuture<Message> processAsync(Message message, AgentContext context) {
+        Replica replica = acquireReplica(context);
+        CompletableFuture<Message> result;
+        try {
+            result = replica.agent.processAsync(message, context);
+        } catch (RuntimeException e) {
+            replica.release();
+            throw e;
+        }
+        // 返回原始Future，保证调用方取消时能够中断副本中的任务
+        result.whenComplete((response, ex) -> replica.release());
+        return result;
+    }
+
+    @Override
+    public Flux<Message> processStream(Message message, AgentContext context) {
+        return Flux.defer(() -> {
+            Replica replica = acquireReplica(context);
+            try {
+                return replica.agent.processStream(message, context)
+                        .doFinally(signal -> replica.release());
+            } catch (RuntimeException e) {
+                replica.release();
+                throw e;
+            }
+        });
+    }
+
+    @Override
+    public CompletableFuture<List<Message>> processBatch(List<Message> messages, AgentContext context) {
+        Replica replica = acquireReplica(context);
+        CompletableFuture<List<Message>> result;
+        try {
+            result = replica.agent.processBatch(messages, context);
+        } catch (RuntimeException e) {
+            replica.release();
+            throw e;
+        }
+        result.whenComplete((responses, ex) -> replica.release());
+        return result;
+    }
+
+    @Override
+    public boolean isAvailable() {
+        return available && replicas.length > 0;
+    }
+
+    @Override
+    public void initialize() {
+        int target = targetReplicas;
+        log.info("Initializing agent pool {} with {} replicas", getId(), target);
+        resize(target);
+        this.available = true;
+    }
+
+    @Override
+    public synchronized void destroy() {
+        log.info("Destroying agent pool: {}", getId());
+        this.available = false;
+        Replica[] current = replicas;
+        replicas = EMPTY;
+        for (Replica replica : current) {
+            replica.retire();
+        }
+    }
+
+    @Override
+    public int getReplicaCount() {
+        return replicas.length;
+    }
+
+    @Override
+    @JsonIgnore
+    public List<Agent> getReplicas() {
+        Replica[] current = replicas;
+        List<Agent> agents = new ArrayList<>(current.length);
+        for (Replica replica : current) {
+            agents.add(replica.agent);
+        }
+        return agents;
+    }
+
+    /**
+     * 副本为幂等Agent时使用副本的合并键，否则不合并
+     */
+    @Override
+    public String getCoalescingKey(Message message, AgentContext context) {
+        Replica[] current = replicas;
+        return current.length > 0 && current[0].agent instanceof IdempotentAgent idempotent
+                ? idempotent.getCoalescingKey(message, context)
+                : null;
+    }
+
+    /**
+     * 获取所有副本正在处理的请求数
+     *
+     * @return 处理中请求数
+     */
+    public int getInFlight() {
+        int total = 0;
+        for (Replica replica : replicas) {
+            total += Math.max(0, replica.inFlight.get());
+        }
+        return total;
+    }
+
+    /**
+     * 设置激活器
+     *
+     * @param activator 激活器
+     */
+    public void setActivator(AgentActivator activator) {
+        this.activator = activator;
+    }
+
+    @Override
+    public synchronized void resize(int target) {
+        if (target < 1) {
+            throw new IllegalArgumentException("Replica count must be positive: " + target);
+        }
+
+        Replica[] current = replicas;
+        if (target == current.length) {
+            return;
+        }
+
+        if (target > current.length) {
+            List<Replica> added = new ArrayList<>(target - current.length);
+            try {
+                for (int i = current.length; i < target; i++) {
+                    added.add(createReplica());
+                }
+            } catch (RuntimeException e) {
+                added.forEach(Replica::retire);
+                throw new AgentException("AGENT_POOL_RESIZE_FAILED",
+                        "Failed to create replica for agent pool: " + getId(), e);
+            }
+            Replica[] grown = Arrays.copyOf(current, target);
+            for (int i = 0; i < added.size(); i++) {
+                grown[current.length + i] = added.get(i);
+            }
+            replicas = grown;
+        } else {
+            replicas = Arrays.copyOf(current, target);
+            for (int i = target; i < current.length; i++) {
+                current[i].retire();
+            }
+        }
+        targetReplicas = target;
+        log.info("Agent pool {} resized from {} to {} replicas", getId(), current.length, target);
+    }
+
+    private Replica createReplica() {
+        Agent agent = factory.create();
+        if (agent == null) {
+            throw new IllegalStateException("Agent factory returned null for pool: " + getId());
+        }
+        customizer.accept(agent);
+        agent.initialize();
+        return new Replica(replicaSerial.incrementAndGet(), agent);
+    }
+
+    /**
+     * 选择副本并占用一个处理名额
+     * 选中的副本可能恰好被缩容移除，此时基于最新的副本列表重新选择
+     */
+    private Replica acquireReplica(AgentContext context) {
+        for (int attempt = 0; attempt < MAX_SELECT_ATTEMPTS; attempt++) {
+            if (!activate()) {
+                break;
+            }
+            Replica[] current = replicas;
+            if (current.length == 0) {
+                // 激活后恰好被钝化，下一轮重新激活
+                continue;
+            }
+            Replica replica = select(current, context);
+            if (replica.tryAcquire()) {
+                return replica;
+            }
+        }
+        throw new AgentException("AGENT_UNAVAILABLE", "No replica available for agent: " + getId());
+    }
+
+    private boolean activate() {
+        AgentActivator current = activator;
+        return current == null || current.activate(this);
+    }
+
+    private Replica select(Replica[] current, AgentContext context) {
+        if (current.length == 1) {
+            return current[0];
+        }
+        if (sessionAffinity && context != null && StringUtils.hasText(context.getSessionId())) {
+            return selectBySession(current, context.getSessionId());
+        }
+        return selection == ReplicaSelection.POWER_OF_TWO ? selectPowerOfTwo(current) : selectLeastInFlight(current);
+    }
+
+    /**
+     * 最高随机权重（Rendezvous）哈希：副本增减时只有该副本上的会话需要迁移
+     */
+    private Replica selectBySession(Replica[] current, String sessionId) {
+        long sessionHash = sessionId.hashCode();
+        Replica best = current[0];
+        long bestWeight = Long.MIN_VALUE;
+        for (Replica replica : current) {
+            long weight = mix(sessionHash ^ (replica.serial * 0x9E3779B97F4A7C15L));
+            if (weight > bestWeight) {
+                bestWeight = weight;
+                best = replica;
+            }
+        }
+        return best;
+    }
+
+    private Replica selectLeastInFlight(Replica[] current) {
+        // 从随机位置开始扫描，避免负载相同时总是选中第一个副本
+        int offset = ThreadLocalRandom.current().nextInt(current.length);
+        Replica best = current[offset];
+        for (int i = 1; i < current.length; i++) {
+            Replica candidate = current[(offset + i) % current.length];
+            if (candidate.inFlight.get() < best.inFlight.get()) {
+                best = candidate;
+            }
+        }
+        return best;
+    }
+
+    private Replica selectPowerOfTwo(Replica[] current) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int first = random.nextInt(current.length);
+        int second = random.nextInt(current.length - 1);
+        if (second >= first) {
+            second++;
+        }
+        Replica a = current[first];
+        Replica b = current[second];
+        return a.inFlight.get() <= b.inFlight.get() ? a : b;
+    }
+
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    /**
+     * 池中的副本
+     * inFlight为-1表示副本已销毁，不再接收请求
+     */
+    private static final class Replica {
+        private final long serial;
+        private final Agent agent;
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private volatile boolean retired;
+
+        Replica(long serial, Agent agent) {
+            this.serial = serial;
+            this.agent = agent;
+        }
+
+        boolean tryAcquire() {
+            while (true) {
+                int current = inFlight.get();
+                if (current < 0) {
+                    return false;
+                }
+                if (inFlight.compareAndSet(current, current + 1)) {
+                    return true;
+                }
+            }
+        }
+
+        void release() {
+            if (inFlight.decrementAndGet() == 0 && retired) {
+                destroyIfIdle();
+            }
+        }
+
+        void retire() {
+            retired = true;
+            destroyIfIdle();
+        }
+
+        private void destroyIfIdle() {
+            if (!inFlight.compareAndSet(0, -1)) {
+                return;
+            }
+            try {
+                agent.destroy();
+            } catch (Exception e) {
+                log.error("Error destroying replica {} of agent pool", agent.getId(), e);
+            }
+        }
+    }
+}
\ No newline at end of file
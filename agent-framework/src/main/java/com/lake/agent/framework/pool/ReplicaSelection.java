@@ -0,0 +1,20 @@
+package com.lake.agent.framework.pool;
+
+/**
+ * 副本选择策略
+ *
+ * @author Lake Intelligence Team
+ * @since 1.0.0
+ */
+public enum ReplicaSelection {
+
+    /**
+     * 选择处理中请求数最少的副本
+     */
+    LEAST_IN_FLIGHT,
+
+    /**
+     * 随机选取两个副本，选择其中处理中请求数较少的一个
+     */
+    POWER_OF_TWO
+}
\ No newline at end of file
@@ -0,0 +1,150 @@
+package com.lake.agent.framework.routing;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Agent邮箱
+ * 多生产者、单消费者的无锁消息队列，同一时刻最多只有一个工作线程在消费。
+ * 消息处理以异步方式进行，处理未完成时工作线程返回线程池，处理完成后再继续消费，
+ * 同一邮箱内的消息仍按顺序逐条处理
+ *
+ * @author Lake Intelligence Team
+ * @since 1.0.0
+ */
+@Slf4j
+class AgentMailbox {
+
+    /**
+     * 关闭后的积压计数，关闭的邮箱不再接受投递
+     */
+    private static final int CLOSED = -1;
+
+    private final String agentId;
+    private final Queue<Envelope> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger size = new AtomicInteger();
+    private final AtomicBoolean scheduled = new AtomicBoolean(false);
+    private final int capacity;
+    private final int throughput;
+    private final Executor executor;
+    private final Function<Envelope, CompletableFuture<Void>> handler;
+    private final Consumer<AgentMailbox> idleCallback;
+
+    AgentMailbox(String agentId, int capacity, int throughput, Executor executor,
+                 Function<Envelope, CompletableFuture<Void>> handler, Consumer<AgentMailbox> idleCallback) {
+        this.agentId = agentId;
+        this.capacity = capacity;
+        this.throughput = throughput;
+        this.executor = executor;
+        this.handler = handler;
+        this.idleCallback = idleCallback;
+    }
+
+    /**
+     * 投递消息
+     *
+     * @param envelope 消息信封
+     * @return true如果投递成功，邮箱已满或已关闭时返回false
+     */
+    boolean enqueue(Envelope envelope) {
+        while (true) {
+            int current = size.get();
+            if (current == CLOSED || current >= capacity) {
+                return false;
+            }
+            if (size.compareAndSet(current, current + 1)) {
+                break;
+            }
+        }
+        queue.offer(envelope);
+        schedule();
+        return true;
+    }
+
+    /**
+     * 关闭邮箱，仅在没有积压消息时成功
+     *
+     * @return true如果已关闭，否则false
+     */
+    boolean close() {
+        return size.compareAndSet(0, CLOSED) || size.get() == CLOSED;
+    }
+
+    /**
+     * 检查邮箱是否已关闭
+     *
+     * @return true如果已关闭，否则false
+     */
+    boolean isClosed() {
+        return size.get() == CLOSED;
+    }
+
+    /**
+     * 获取积压消息数
+     *
+     * @return 积压消息数
+     */
+    int size() {
+        return Math.max(0, size.get());
+    }
+
+    String getAgentId() {
+        return agentId;
+    }
+
+    private void schedule() {
+        if (scheduled.compareAndSet(false, true)) {
+            execute();
+        }
+    }
+
+    private void execute() {
+        try {
+            executor.execute(this::drain);
+        } catch (RejectedExecutionException e) {
+            scheduled.set(false);
+            log.warn("Mailbox of agent {} could not be scheduled: router is shut down", agentId);
+        }
+    }
+
+    private void drain() {
+        for (int i = 0; i < throughput; i++) {
+            Envelope envelope = queue.poll();
+            if (envelope == null) {
+                break;
+            }
+            size.decrementAndGet();
+
+            CompletableFuture<Void> done;
+            try {
+                done = handler.apply(envelope);
+            } catch (RuntimeException e) {
+                log.error("Error handling message {} for agent {}", envelope.message().getId(), agentId, e);
+                continue;
+            }
+            if (!done.isDone()) {
+                // 处理完成后由工作线程继续消费，调度标记保持不变，期间不会有其他线程消费本邮箱
+                done.whenComplete((result, ex) -> execute());
+                return;
+            }
+        }
+
+        scheduled.set(false);
+        if (queue.isEmpty()) {
+            idleCallback.accept(this);
+        }
+        // 释放调度标记后再检查一次，避免与并发投递之间丢失唤醒
+        if (!queue.isEmpty()) {
+            schedule();
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,287 @@
+package com.lake.agent.framework.routing;
+
+import com.lake.agent.core.Agent;
+import com.lake.agent.core.AgentManager;
+import com.lake.agent.core.context.AgentContext;
+import com.lake.agent.core.exception.AgentException;
+import com.lake.agent.core.message.Message;
+import com.lake.agent.framework.AgentProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.util.StringUtils;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Agent间消息路由器
+ * 通过每个Agent独立的邮箱投递消息，邮箱由共享的工作线程池按需调度消费，
+ * 多Agent对话无需为每一跳占用一个线程。消息通过{@link Agent#processAsync}处理，
+ * 阻塞的处理在管理器的有界异步线程池上执行，工作线程不会被慢速Agent占满
+ *
+ * @author Lake Intelligence Team
+ * @since 1.0.0
+ */
+@Slf4j
+public class AgentMessageRouter {
+
+    private final AgentManager agentManager;
+    private final AgentProperties properties;
+    private final ForkJoinPool workers;
+    private final ConcurrentMap<String, AgentMailbox> mailboxes = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, CompletableFuture<Message>> pendingRequests = new ConcurrentHashMap<>();
+
+    private final LongAdder sentMessages = new LongAdder();
+    private final LongAdder deliveredMessages = new LongAdder();
+    private final LongAdder droppedMessages = new LongAdder();
+    private final LongAdder failedMessages = new LongAdder();
+
+    public AgentMessageRouter(AgentManager agentManager, AgentProperties properties) {
+        this.agentManager = agentManager;
+        this.properties = properties;
+
+        ForkJoinPool.ForkJoinWorkerThreadFactory threadFactory = pool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("agent-router-" + thread.getPoolIndex());
+            return thread;
+        };
+        // asyncMode使用FIFO调度，适合不会fork子任务的消息处理
+        this.workers = new ForkJoinPool(properties.getRouter().getParallelism(), threadFactory, null, true);
+    }
+
+    /**
+     * 发送消息，不等待应答
+     * 如果消息携带了等待中请求的关联ID，则作为该请求的应答处理
+     *
+     * @param message 消息
+     */
+    public void send(Message message) {
+        send(message, null);
+    }
+
+    /**
+     * 发送消息，不等待应答
+     *
+     * @param message 消息
+     * @param context 接收方执行上下文，为空时使用默认上下文
+     */
+    public void send(Message message, AgentContext context) {
+        validate(message);
+        sentMessages.increment();
+
+        if (completePendingRequest(message)) {
+            return;
+        }
+        deliver(new Envelope(message, context, false));
+    }
+
+    /**
+     * 发送请求消息并等待应答
+     * 应答为接收方处理结果，或其他Agent发送的、以请求消息ID作为关联ID的消息
+     *
+     * @param message 请求消息
+     * @param context 接收方执行上下文，为空时使用默认上下文
+     * @return 应答消息的Future，超过lake.agent.manager.timeout未应答时异常完成
+     */
+    public CompletableFuture<Message> request(Message message, AgentContext context) {
+        validate(message);
+        if (!StringUtils.hasText(message.getId())) {
+            throw new IllegalArgumentException("Request message ID cannot be empty");
+        }
+        sentMessages.increment();
+
+        String requestId = message.getId();
+        CompletableFuture<Message> reply = new CompletableFuture<>();
+        if (pendingRequests.putIfAbsent(requestId, reply) != null) {
+            throw new IllegalArgumentException("Duplicate request message ID: " + requestId);
+        }
+
+        long timeout = properties.getManager().getTimeout();
+        if (timeout > 0) {
+            reply.orTimeout(timeout, TimeUnit.MILLISECONDS);
+        }
+        reply.whenComplete((response, ex) -> pendingRequests.remove(requestId, reply));
+
+        if (!deliver(new Envelope(message, context, true))) {
+            reply.completeExceptionally(new AgentException("MESSAGE_UNDELIVERABLE",
+                    "Message could not be delivered to agent: " + message.getReceiver()));
+        }
+        return reply;
+    }
+
+    /**
+     * 获取路由统计信息
+     *
+     * @return 统计信息
+     */
+    public RouterStatistics getStatistics() {
+        Map<String, Integer> depths = new HashMap<>();
+        mailboxes.forEach((agentId, mailbox) -> depths.put(agentId, mailbox.size()));
+
+        return RouterStatistics.builder()
+                .sentMessages(sentMessages.sum())
+                .deliveredMessages(deliveredMessages.sum())
+                .droppedMessages(droppedMessages.sum())
+                .failedMessages(failedMessages.sum())
+                .pendingRequests(pendingRequests.size())
+                .mailboxDepths(depths)
+                .build();
+    }
+
+    /**
+     * 关闭路由器，未完成的请求将异常完成
+     */
+    public void shutdown() {
+        log.info("Shutting down AgentMessageRouter...");
+        workers.shutdown();
+        AgentException shutdown = new AgentException("ROUTER_SHUTDOWN", "Message router is shut down");
+        pendingRequests.values().forEach(reply -> reply.completeExceptionally(shutdown));
+        pendingRequests.clear();
+    }
+
+    private void validate(Message message) {
+        if (message == null) {
+            throw new IllegalArgumentException("Message cannot be null");
+        }
+        if (!StringUtils.hasText(message.getReceiver())) {
+            throw new IllegalArgumentException("Message receiver cannot be empty");
+        }
+    }
+
+    private boolean completePendingRequest(Message message) {
+        if (message.getMetadata() == null) {
+            return false;
+        }
+        Object correlationId = message.getMetadata().get(Message.METADATA_CORRELATION_ID);
+        if (correlationId == null) {
+            return false;
+        }
+
+        CompletableFuture<Message> reply = pendingRequests.remove(correlationId.toString());
+        if (reply == null) {
+            return false;
+        }
+        reply.complete(message);
+        deliveredMessages.increment();
+        return true;
+    }
+
+    private boolean deliver(Envelope envelope) {
+        String receiver = envelope.message().getReceiver();
+        if (!agentManager.isRegistered(receiver)) {
+            droppedMessages.increment();
+            log.warn("Dropping message {}: agent not registered: {}", envelope.message().getId(), receiver);
+            return false;
+        }
+
+        envelope.message().setStatus(Message.MessageStatus.SENT);
+        while (true) {
+            AgentMailbox mailbox = mailboxes.computeIfAbsent(receiver, agentId -> new AgentMailbox(agentId,
+                    properties.getRouter().getMailboxCapacity(),
+                    properties.getRouter().getThroughput(),
+                    workers,
+                    this::handle,
+                    this::onMailboxIdle));
+            if (mailbox.enqueue(envelope)) {
+                return true;
+            }
+            if (!mailbox.isClosed()) {
+                droppedMessages.increment();
+                log.warn("Dropping message {}: mailbox of agent {} is full", envelope.message().getId(), receiver);
+                return false;
+            }
+            // 邮箱已在Agent注销后关闭，移除后以新邮箱重试
+            mailboxes.remove(receiver, mailbox);
+        }
+    }
+
+    /**
+     * 邮箱消费完积压消息后调用，接收方已注销时关闭并移除邮箱
+     * 只有空闲的邮箱能被关闭，重新注册的Agent不会同时有两个邮箱在消费
+     */
+    private void onMailboxIdle(AgentMailbox mailbox) {
+        String agentId = mailbox.getAgentId();
+        if (!agentManager.isRegistered(agentId) && mailbox.close()) {
+            mailboxes.remove(agentId, mailbox);
+        }
+    }
+
+    private CompletableFuture<Void> handle(Envelope envelope) {
+        Message message = envelope.message();
+        String receiver = message.getReceiver();
+
+        Optional<Agent> agentOpt = agentManager.getAgent(receiver);
+        if (agentOpt.isEmpty()) {
+            droppedMessages.increment();
+            failPendingRequest(envelope, new AgentException("AGENT_NOT_FOUND", "Agent not found: " + receiver));
+            return CompletableFuture.completedFuture(null);
+        }
+
+        message.setStatus(Message.MessageStatus.RECEIVED);
+        AgentContext context = envelope.context() != null
+                ? envelope.context()
+                : AgentContext.builder().agentId(receiver).build();
+
+        CompletableFuture<Message> result;
+        try {
+            result = agentOpt.get().processAsync(message, context);
+        } catch (Exception e) {
+            result = CompletableFuture.failedFuture(e);
+        }
+
+        return result.handle((response, ex) -> {
+            if (ex == null) {
+                message.setStatus(Message.MessageStatus.PROCESSED);
+                deliveredMessages.increment();
+                if (envelope.expectsReply()) {
+                    completeRequest(message, response);
+                } else {
+                    log.debug("Message {} processed by agent {}", message.getId(), receiver);
+                }
+                return null;
+            }
+
+            Throwable cause = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+            message.setStatus(Message.MessageStatus.FAILED);
+            failedMessages.increment();
+            log.error("Error delivering message {} to agent {}", message.getId(), receiver, cause);
+            failPendingRequest(envelope, cause);
+            return null;
+        });
+    }
+
+    private void completeRequest(Message request, Message response) {
+        CompletableFuture<Message> reply = pendingRequests.remove(request.getId());
+        if (reply == null) {
+            // 已超时或已由其他Agent应答
+            return;
+        }
+
+        if (response != null) {
+            Map<String, Object> metadata = response.getMetadata() != null
+                    ? new HashMap<>(response.getMetadata())
+                    : new HashMap<>();
+            metadata.put(Message.METADATA_CORRELATION_ID, request.getId());
+            response.setMetadata(metadata);
+        }
+        reply.complete(response);
+    }
+
+    private void failPendingRequest(Envelope envelope, Throwable cause) {
+        if (!envelope.expectsReply()) {
+            return;
+        }
+        CompletableFuture<Message> reply = pendingRequests.remove(envelope.message().getId());
+        if (reply != null) {
+            reply.completeExceptionally(cause);
+        }
+    }
+}
\ No newline at end of file
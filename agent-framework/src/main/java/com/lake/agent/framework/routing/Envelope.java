@@ -0,0 +1,16 @@
+package com.lake.agent.framework.routing;
+
+import com.lake.agent.core.context.AgentContext;
+import com.lake.agent.core.message.Message;
+
+/**
+ * 邮箱中的消息信封
+ *
+ * @param message      消息
+ * @param context      执行上下文
+ * @param expectsReply 是否需要应答
+ * @author Lake Intelligence Team
+ * @since 1.0.0
+ */
+record Envelope(Message message, AgentContext context, boolean expectsReply) {
+}
\ No newline at end of file
@@ -0,0 +1,51 @@
+package com.lake.agent.framework.routing;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * 消息路由统计信息
+ *
+ * @author Lake Intelligence Team
+ * @since 1.0.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RouterStatistics {
+
+    /**
+     * 已接收的消息数
+     */
+    private long sentMessages;
+
+    /**
+     * 已投递给Agent处理的消息数
+     */
+    private long deliveredMessages;
+
+    /**
+     * 因接收者不存在或邮箱已满而丢弃的消息数
+     */
+    private long droppedMessages;
+
+    /**
+     * 处理失败的消息数
+     */
+    private long failedMessages;
+
+    /**
+     * 等待应答的请求数
+     */
+    private int pendingRequests;
+
+    /**
+     * 各Agent邮箱积压消息数
+     */
+    private Map<String, Integer> mailboxDepths;
+}
\ No newline at end of file
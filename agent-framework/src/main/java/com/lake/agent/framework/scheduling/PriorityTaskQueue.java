@@ -0,0 +1,442 @@
+package com.lake.agent.framework.scheduling;
+
+import com.lake.agent.core.execution.AgentTask;
+import com.lake.agent.core.message.Message;
+import com.lake.agent.framework.AgentProperties;
+
+import java.util.AbstractQueue;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 按消息优先级调度的任务队列
+ * 每个优先级使用独立队列，出队时按平滑加权轮询选择队列；队头任务每等待一个老化阈值，
+ * 所在队列按高一级优先级的权重参与调度，从而在不饿死低优先级任务的同时保证高优先级任务的延迟。
+ * 作为Agent异步处理线程池的工作队列使用，非{@link AgentTask}任务按NORMAL优先级处理。
+ *
+ * @author Lake Intelligence Team
+ * @since 1.0.0
+ */
+public class PriorityTaskQueue extends AbstractQueue<Runnable> implements BlockingQueue<Runnable> {
+
+    private static final Message.Priority[] PRIORITIES = Message.Priority.values();
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final Condition notFull = lock.newCondition();
+
+    private final ArrayDeque<QueuedTask>[] queues;
+    private final PriorityMetrics[] metrics;
+    private final int[] weights;
+    private final int[] currentWeights;
+    private final int capacity;
+    private final long agingThresholdNanos;
+    private int count;
+
+    @SuppressWarnings("unchecked")
+    public PriorityTaskQueue(int capacity, AgentProperties.Scheduling scheduling) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Queue capacity must be positive: " + capacity);
+        }
+        this.capacity = capacity;
+        this.agingThresholdNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1, scheduling.getAgingThreshold()));
+
+        int levels = PRIORITIES.length;
+        this.queues = (ArrayDeque<QueuedTask>[]) new ArrayDeque[levels];
+        this.metrics = new PriorityMetrics[levels];
+        this.weights = new int[levels];
+        this.currentWeights = new int[levels];
+        for (Message.Priority priority : PRIORITIES) {
+            int i = priority.ordinal();
+            queues[i] = new ArrayDeque<>();
+            metrics[i] = new PriorityMetrics(Math.max(1, scheduling.getWaitTimeSamples()));
+            weights[i] = Math.max(0, scheduling.getWeights().getOrDefault(priority, 1));
+        }
+    }
+
+    @Override
+    public boolean offer(Runnable task) {
+        checkNotNull(task);
+        lock.lock();
+        try {
+            if (count == capacity) {
+                return false;
+            }
+            enqueue(task);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void put(Runnable task) throws InterruptedException {
+        checkNotNull(task);
+        lock.lockInterruptibly();
+        try {
+            while (count == capacity) {
+                notFull.await();
+            }
+            enqueue(task);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean offer(Runnable task, long timeout, TimeUnit unit) throws InterruptedException {
+        checkNotNull(task);
+        long nanos = unit.toNanos(timeout);
+        lock.lockInterruptibly();
+        try {
+            while (count == capacity) {
+                if (nanos <= 0) {
+                    return false;
+                }
+                nanos = notFull.awaitNanos(nanos);
+            }
+            enqueue(task);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Runnable poll() {
+        lock.lock();
+        try {
+            return count == 0 ? null : dequeue();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Runnable take() throws InterruptedException {
+        lock.lockInterruptibly();
+        try {
+            while (count == 0) {
+                notEmpty.await();
+            }
+            return dequeue();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Runnable poll(long timeout, TimeUnit unit) throws InterruptedException {
+        long nanos = unit.toNanos(timeout);
+        lock.lockInterruptibly();
+        try {
+            while (count == 0) {
+                if (nanos <= 0) {
+                    return null;
+                }
+                nanos = notEmpty.awaitNanos(nanos);
+            }
+            return dequeue();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 返回此刻出队时将被选中的任务，选择方式与poll一致但不推进轮询状态；
+     * 老化随时间变化，之后的poll可能选中其他任务
+     */
+    @Override
+    public Runnable peek() {
+        lock.lock();
+        try {
+            return count == 0 ? null : queues[select(System.nanoTime(), false)].peekFirst().task;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int size() {
+        lock.lock();
+        try {
+            return count;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int remainingCapacity() {
+        lock.lock();
+        try {
+            return capacity - count;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        if (o == null) {
+            return false;
+        }
+        lock.lock();
+        try {
+            for (ArrayDeque<QueuedTask> queue : queues) {
+                Iterator<QueuedTask> it = queue.iterator();
+                while (it.hasNext()) {
+                    if (it.next().task == o) {
+                        it.remove();
+                        count--;
+                        notFull.signal();
+                        return true;
+                    }
+                }
+            }
+            return false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int drainTo(Collection<? super Runnable> c) {
+        return drainTo(c, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public int drainTo(Collection<? super Runnable> c, int maxElements) {
+        checkNotNull(c);
+        if (c == this) {
+            throw new IllegalArgumentException("Cannot drain queue to itself");
+        }
+        lock.lock();
+        try {
+            int drained = 0;
+            while (count > 0 && drained < maxElements) {
+                c.add(dequeue());
+                drained++;
+            }
+            return drained;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 返回当前任务快照的迭代器，按优先级从高到低排列
+     */
+    @Override
+    public Iterator<Runnable> iterator() {
+        List<Runnable> snapshot = new ArrayList<>();
+        lock.lock();
+        try {
+            for (int i = queues.length - 1; i >= 0; i--) {
+                queues[i].forEach(queued -> snapshot.add(queued.task));
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        return new Iterator<>() {
+            private int cursor = 0;
+            private Runnable lastReturned;
+
+            @Override
+            public boolean hasNext() {
+                return cursor < snapshot.size();
+            }
+
+            @Override
+            public Runnable next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                lastReturned = snapshot.get(cursor++);
+                return lastReturned;
+            }
+
+            @Override
+            public void remove() {
+                if (lastReturned == null) {
+                    throw new IllegalStateException();
+                }
+                PriorityTaskQueue.this.remove(lastReturned);
+                lastReturned = null;
+            }
+        };
+    }
+
+    /**
+     * 获取调度统计信息
+     *
+     * @return 统计信息
+     */
+    public SchedulerStatistics getStatistics() {
+        Map<Message.Priority, SchedulerStatistics.PriorityStatistics> priorities = new EnumMap<>(Message.Priority.class);
+        lock.lock();
+        try {
+            for (Message.Priority priority : PRIORITIES) {
+                int i = priority.ordinal();
+                priorities.put(priority, metrics[i].snapshot(queues[i].size()));
+            }
+            return SchedulerStatistics.builder()
+                    .totalDepth(count)
+                    .priorities(priorities)
+                    .build();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void enqueue(Runnable task) {
+        int level = priorityOf(task).ordinal();
+        queues[level].addLast(new QueuedTask(task, System.nanoTime()));
+        metrics[level].enqueued++;
+        count++;
+        notEmpty.signal();
+    }
+
+    private Runnable dequeue() {
+        long now = System.nanoTime();
+        int level = select(now, true);
+        QueuedTask queued = queues[level].pollFirst();
+        count--;
+
+        long waitNanos = now - queued.enqueuedAt;
+        metrics[level].recordWait(waitNanos);
+        if (waitNanos >= agingThresholdNanos) {
+            metrics[level].aged++;
+        }
+        notFull.signal();
+        return queued.task;
+    }
+
+    /**
+     * 平滑加权轮询选择出队的优先级，调用方需持有锁且队列非空
+     *
+     * @param now     当前时间（纳秒），用于计算老化
+     * @param advance 是否更新轮询状态，仅查看时为false
+     */
+    private int select(long now, boolean advance) {
+        int total = 0;
+        int best = -1;
+        int bestWeight = 0;
+        int highest = -1;
+        for (int i = 0; i < queues.length; i++) {
+            QueuedTask head = queues[i].peekFirst();
+            if (head == null) {
+                continue;
+            }
+            highest = i;
+
+            // 老化：每等待一个阈值，按高一级优先级的权重参与调度
+            long promotion = (now - head.enqueuedAt) / agingThresholdNanos;
+            int effectiveLevel = (int) Math.min(queues.length - 1, i + promotion);
+            int weight = Math.max(weights[i], weights[effectiveLevel]);
+
+            int current = currentWeights[i] + weight;
+            if (advance) {
+                currentWeights[i] = current;
+            }
+            total += weight;
+            if (best < 0 || current > bestWeight) {
+                best = i;
+                bestWeight = current;
+            }
+        }
+
+        if (total == 0) {
+            // 所有非空队列权重均为0时退化为严格优先级
+            return highest;
+        }
+        if (advance) {
+            currentWeights[best] -= total;
+        }
+        return best;
+    }
+
+    private static Message.Priority priorityOf(Runnable task) {
+        if (task instanceof AgentTask agentTask
+                && agentTask.getMessage() != null
+                && agentTask.getMessage().getPriority() != null) {
+            return agentTask.getMessage().getPriority();
+        }
+        return Message.Priority.NORMAL;
+    }
+
+    private static void checkNotNull(Object o) {
+        if (o == null) {
+            throw new NullPointerException();
+        }
+    }
+
+    /**
+     * 队列中的任务及其入队时间
+     */
+    private record QueuedTask(Runnable task, long enqueuedAt) {
+    }
+
+    /**
+     * 单个优先级的统计数据，由队列锁保护
+     */
+    private static final class PriorityMetrics {
+        private final long[] samples;
+        private int sampleCount;
+        private int sampleIndex;
+        private long enqueued;
+        private long dequeued;
+        private long aged;
+        private long totalWaitNanos;
+        private long maxWaitNanos;
+
+        PriorityMetrics(int sampleSize) {
+            this.samples = new long[sampleSize];
+        }
+
+        void recordWait(long waitNanos) {
+            dequeued++;
+            totalWaitNanos += waitNanos;
+            maxWaitNanos = Math.max(maxWaitNanos, waitNanos);
+            samples[sampleIndex] = waitNanos;
+            sampleIndex = (sampleIndex + 1) % samples.length;
+            sampleCount = Math.min(sampleCount + 1, samples.length);
+        }
+
+        SchedulerStatistics.PriorityStatistics snapshot(int depth) {
+            double p99 = 0;
+            if (sampleCount > 0) {
+                long[] sorted = Arrays.copyOf(samples, sampleCount);
+                Arrays.sort(sorted);
+                int index = (int) Math.ceil(sampleCount * 0.99) - 1;
+                p99 = toMillis(sorted[Math.max(0, index)]);
+            }
+
+            return SchedulerStatistics.PriorityStatistics.builder()
+                    .depth(depth)
+                    .enqueued(enqueued)
+                    .dequeued(dequeued)
+                    .aged(aged)
+                    .avgWaitMillis(dequeued > 0 ? toMillis(totalWaitNanos) / dequeued : 0)
+                    .p99WaitMillis(p99)
+                    .maxWaitMillis(toMillis(maxWaitNanos))
+                    .build();
+        }
+
+        private static double toMillis(long nanos) {
+            return nanos / 1_000_000.0;
+        }
+    }
+}
\ No newline at end of file
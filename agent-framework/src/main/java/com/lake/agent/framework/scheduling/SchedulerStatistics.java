@@ -0,0 +1,77 @@
+package com.lake.agent.framework.scheduling;
+
+import com.lake.agent.core.message.Message;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * 优先级调度统计信息
+ *
+ * @author Lake Intelligence Team
+ * @since 1.0.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SchedulerStatistics {
+
+    /**
+     * 等待执行的任务总数
+     */
+    private int totalDepth;
+
+    /**
+     * 各优先级队列的统计信息
+     */
+    private Map<Message.Priority, PriorityStatistics> priorities;
+
+    /**
+     * 单个优先级队列的统计信息
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class PriorityStatistics {
+
+        /**
+         * 当前队列深度
+         */
+        private int depth;
+
+        /**
+         * 累计入队任务数
+         */
+        private long enqueued;
+
+        /**
+         * 累计出队任务数
+         */
+        private long dequeued;
+
+        /**
+         * 因老化而提升调度权重后出队的任务数
+         */
+        private long aged;
+
+        /**
+         * 平均等待时间（毫秒）
+         */
+        private double avgWaitMillis;
+
+        /**
+         * 最近样本的P99等待时间（毫秒）
+         */
+        private double p99WaitMillis;
+
+        /**
+         * 最大等待时间（毫秒）
+         */
+        private double maxWaitMillis;
+    }
+}
\ No newline at end of file
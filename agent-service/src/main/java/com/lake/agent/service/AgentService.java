@@ -1,15 +1,40 @@
 package com.lake.agent.service;
 
+import com.lake.agent.core.AbstractAgent;
 import com.lake.agent.core.Agent;
 import com.lake.agent.core.AgentManager;
+import com.lake.agent.core.AgentRegistrySnapshot;
+import com.lake.agent.core.IdempotentAgent;
+import com.lake.agent.core.ScalableAgent;
 import com.lake.agent.core.context.AgentContext;
+import com.lake.agent.core.exception.AgentException;
+import com.lake.agent.core.exception.AgentOverloadedException;
+import com.lake.agent.core.execution.BulkheadStatistics;
+import com.lake.agent.core.execution.ProcessOutcome;
+import com.lake.agent.core.id.MessageIds;
 import com.lake.agent.core.message.Message;
+import com.lake.agent.core.message.MessageType;
+import com.lake.agent.service.metrics.AgentMetrics;
 import lombok.extern.slf4j.Slf4j;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
 
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
 
 /**
  * Agent业务服务类
@@ -22,9 +47,27 @@ import java.util.Optional;
 @Service
 public class AgentService {
 
+    /**
+     * 请求日志，每个请求一条，由日志配置决定采样率和输出方式
+     */
+    private static final Logger REQUEST_LOG = LoggerFactory.getLogger("lake.agent.request");
+
     @Autowired
     private AgentManager agentManager;
 
+    @Autowired(required = false)
+    private AgentMetrics agentMetrics;
+
+    /**
+     * 处理中的可合并请求，按Agent ID和合并键索引
+     */
+    private final ConcurrentMap<String, CompletableFuture<Message>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * 与处理中的相同请求合并的请求数
+     */
+    private final LongAdder coalesced = new LongAdder();
+
     /**
      * 处理Agent消息
      *
@@ -34,8 +77,224 @@ public class AgentService {
      * @return 处理结果
      */
     public Message processMessage(String agentId, Message message, AgentContext context) {
-        log.info("Processing message for agent: {}", agentId);
+        REQUEST_LOG.info("agent={} mode=sync message={}", agentId, message.getId());
+        Agent agent = resolveAgent(agentId);
+        if (agentMetrics == null) {
+            return process(agentId, agent, message, context);
+        }
 
+        long start = System.nanoTime();
+        ProcessOutcome outcome = ProcessOutcome.ERROR;
+        try {
+            Message response = process(agentId, agent, message, context);
+            outcome = ProcessOutcome.of(response);
+            return response;
+        } catch (AgentOverloadedException e) {
+            outcome = ProcessOutcome.REJECTED;
+            throw e;
+        } finally {
+            agentMetrics.recordRequest(agentId, "sync", outcome, System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * 异步处理Agent消息
+     *
+     * @param agentId Agent ID
+     * @param message 消息
+     * @param context 上下文
+     * @return 处理结果的Future
+     */
+    public CompletableFuture<Message> processMessageAsync(String agentId, Message message, AgentContext context) {
+        REQUEST_LOG.info("agent={} mode=async message={}", agentId, message.getId());
+        Agent agent = resolveAgent(agentId);
+        if (agentMetrics == null) {
+            return processAsync(agentId, agent, message, context);
+        }
+
+        long start = System.nanoTime();
+        CompletableFuture<Message> result = processAsync(agentId, agent, message, context);
+        result.whenComplete((response, ex) -> {
+            Throwable cause = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+            ProcessOutcome outcome = cause instanceof AgentOverloadedException ? ProcessOutcome.REJECTED
+                    : cause != null ? ProcessOutcome.ERROR
+                    : ProcessOutcome.of(response);
+            agentMetrics.recordRequest(agentId, "async", outcome, System.nanoTime() - start);
+        });
+        return result;
+    }
+
+    /**
+     * 同步处理消息，幂等Agent的相同并发请求共享一次成功的处理结果
+     */
+    private Message process(String agentId, Agent agent, Message message, AgentContext context) {
+        String key = coalescingKey(agentId, agent, message, context);
+        if (key == null) {
+            return agent.process(message, context);
+        }
+
+        CompletableFuture<Message> flight = new CompletableFuture<>();
+        CompletableFuture<Message> existing = inFlight.putIfAbsent(key, flight);
+        if (existing != null) {
+            // 结果不可共享时在当前线程上自行处理，而不是在完成领头请求的线程上
+            Message shared = awaitShared(existing, agentId, message, context).join();
+            return shared != null ? shared : agent.process(message, context);
+        }
+
+        try {
+            return lead(key, flight, () -> CompletableFuture.completedFuture(agent.process(message, context))).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * 异步处理消息，幂等Agent的相同并发请求共享一次成功的处理结果
+     */
+    private CompletableFuture<Message> processAsync(String agentId, Agent agent, Message message, AgentContext context) {
+        String key = coalescingKey(agentId, agent, message, context);
+        if (key == null) {
+            return agent.processAsync(message, context);
+        }
+
+        CompletableFuture<Message> flight = new CompletableFuture<>();
+        CompletableFuture<Message> existing = inFlight.putIfAbsent(key, flight);
+        if (existing != null) {
+            return awaitShared(existing, agentId, message, context)
+                    .thenCompose(shared -> shared != null
+                            ? CompletableFuture.completedFuture(shared)
+                            : agent.processAsync(message, context));
+        }
+        return lead(key, flight, () -> agent.processAsync(message, context));
+    }
+
+    private String coalescingKey(String agentId, Agent agent, Message message, AgentContext context) {
+        if (!(agent instanceof IdempotentAgent idempotent)) {
+            return null;
+        }
+        String key = idempotent.getCoalescingKey(message, context);
+        return key != null ? agentId + '\u0000' + key : null;
+    }
+
+    /**
+     * 作为第一个请求执行处理，完成后移除登记并将结果交给等待中的相同请求
+     */
+    private CompletableFuture<Message> lead(String key, CompletableFuture<Message> flight,
+                                            Supplier<CompletableFuture<Message>> call) {
+        CompletableFuture<Message> result;
+        try {
+            result = call.get();
+        } catch (RuntimeException e) {
+            result = CompletableFuture.failedFuture(e);
+        }
+        // 先移除再完成，之后到达的请求重新处理而不是复用已完成的结果
+        result.whenComplete((response, ex) -> {
+            inFlight.remove(key, flight);
+            if (ex != null) {
+                flight.completeExceptionally(ex);
+            } else {
+                flight.complete(response);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * 等待处理中的相同请求
+     * 第一个请求处理成功时返回带有新消息ID和自身接收方的副本；其失败、被拒绝或超过其自身截止时间时结果不共享，
+     * 返回null由调用方自行处理；等待超过当前请求的截止时间时返回截止时间超时的错误消息
+     */
+    private CompletableFuture<Message> awaitShared(CompletableFuture<Message> flight, String agentId,
+                                                   Message message, AgentContext context) {
+        CompletableFuture<Message> waiting = flight.copy();
+        if (context != null && context.hasDeadline()) {
+            waiting.orTimeout(Math.max(0, context.getRemainingMillis()), TimeUnit.MILLISECONDS);
+        }
+        return waiting.handle((response, ex) -> {
+            if (ex == null && ProcessOutcome.of(response) == ProcessOutcome.SUCCESS) {
+                coalesced.increment();
+                return copyForCaller(response, message);
+            }
+            if (context != null && context.hasDeadline() && context.getRemainingMillis() <= 0) {
+                return deadlineExceeded(agentId, message);
+            }
+            return null;
+        });
+    }
+
+    private Message copyForCaller(Message response, Message request) {
+        if (response == null) {
+            return null;
+        }
+        Map<String, Object> metadata = response.getMetadata() != null
+                ? new HashMap<>(response.getMetadata())
+                : new HashMap<>();
+        metadata.put(Message.METADATA_COALESCED, true);
+        return Message.builder()
+                .id(MessageIds.nextId())
+                .type(response.getType())
+                .content(response.getContent())
+                .sender(response.getSender())
+                .receiver(request.getSender())
+                .timestamp(LocalDateTime.now())
+                .metadata(metadata)
+                .status(response.getStatus())
+                .priority(request.getPriority())
+                .build();
+    }
+
+    private Message deadlineExceeded(String agentId, Message request) {
+        Map<String, Object> metadata = new HashMap<>();
+        metadata.put(Message.METADATA_ERROR_CODE, ProcessOutcome.DEADLINE_EXCEEDED.name());
+        return Message.builder()
+                .id(MessageIds.nextId())
+                .type(MessageType.ERROR)
+                .content("Deadline exceeded while waiting for an identical in-flight request")
+                .sender(agentId)
+                .receiver(request.getSender())
+                .timestamp(LocalDateTime.now())
+                .metadata(metadata)
+                .status(Message.MessageStatus.CREATED)
+                .priority(Message.Priority.HIGH)
+                .build();
+    }
+
+    /**
+     * 流式处理Agent消息
+     *
+     * @param agentId Agent ID
+     * @param message 消息
+     * @param context 上下文
+     * @return 处理结果消息块流
+     */
+    public Flux<Message> processMessageStream(String agentId, Message message, AgentContext context) {
+        REQUEST_LOG.info("agent={} mode=stream message={}", agentId, message.getId());
+        return resolveAgent(agentId).processStream(message, context);
+    }
+
+    /**
+     * 批量处理Agent消息
+     *
+     * @param agentId  Agent ID
+     * @param messages 消息列表
+     * @param context  上下文
+     * @return 与输入顺序一致的处理结果列表的Future
+     */
+    public CompletableFuture<List<Message>> processBatch(String agentId, List<Message> messages, AgentContext context) {
+        REQUEST_LOG.info("agent={} mode=batch size={}", agentId, messages.size());
+        return resolveAgent(agentId).processBatch(messages, context);
+    }
+
+    /**
+     * 查找可用的Agent
+     *
+     * @param agentId Agent ID
+     * @return Agent实例
+     */
+    private Agent resolveAgent(String agentId) {
         Optional<Agent> agentOpt = agentManager.getAgent(agentId);
         if (agentOpt.isEmpty()) {
             log.warn("Agent not found: {}", agentId);
@@ -48,7 +307,7 @@ public class AgentService {
             throw new RuntimeException("Agent is not available: " + agentId);
         }
 
-        return agent.process(message, context);
+        return agent;
     }
 
     /**
@@ -60,6 +319,15 @@ public class AgentService {
         return agentManager.getAvailableAgents();
     }
 
+    /**
+     * 获取Agent注册表快照
+     *
+     * @return 注册表快照
+     */
+    public AgentRegistrySnapshot getRegistrySnapshot() {
+        return agentManager.getSnapshot();
+    }
+
     /**
      * 根据名称查找Agent
      *
@@ -70,6 +338,18 @@ public class AgentService {
         return agentManager.findAgentsByName(name);
     }
 
+    /**
+     * 根据名称分页查找Agent
+     *
+     * @param name   Agent名称
+     * @param offset 起始位置
+     * @param limit  最大返回数量
+     * @return Agent列表
+     */
+    public List<Agent> findAgentsByName(String name, int offset, int limit) {
+        return agentManager.findAgentsByName(name, offset, limit);
+    }
+
     /**
      * 获取Agent信息
      *
@@ -80,19 +360,60 @@ public class AgentService {
         return agentManager.getAgent(agentId);
     }
 
+    /**
+     * 调整Agent副本数
+     *
+     * @param agentId  Agent ID
+     * @param replicas 目标副本数
+     * @return 调整后的Agent
+     */
+    public Agent resizeAgent(String agentId, int replicas) {
+        Agent agent = agentManager.getAgent(agentId)
+                .orElseThrow(() -> new RuntimeException("Agent not found: " + agentId));
+        if (!(agent instanceof ScalableAgent scalable)) {
+            throw new AgentException("AGENT_NOT_SCALABLE", "Agent does not support replicas: " + agentId);
+        }
+
+        log.info("Resizing agent {} to {} replicas", agentId, replicas);
+        scalable.resize(replicas);
+        return agent;
+    }
+
     /**
      * 获取Agent统计信息
      *
      * @return 统计信息
      */
     public AgentStatistics getStatistics() {
-        List<Agent> allAgents = agentManager.getAllAgents();
-        List<Agent> availableAgents = agentManager.getAvailableAgents();
+        AgentRegistrySnapshot snapshot = agentManager.getSnapshot();
+
+        Map<String, BulkheadStatistics> bulkheads = new LinkedHashMap<>();
+        int bulkheadInFlight = 0;
+        long rejected = 0;
+        for (Agent agent : snapshot.getAgents()) {
+            // 副本池按副本分别统计
+            List<Agent> instances = agent instanceof ScalableAgent scalable ? scalable.getReplicas() : List.of(agent);
+            for (Agent instance : instances) {
+                if (instance instanceof AbstractAgent abstractAgent) {
+                    BulkheadStatistics bulkhead = abstractAgent.getBulkheadStatistics();
+                    if (bulkhead != null) {
+                        bulkheads.put(instance.getId(), bulkhead);
+                        bulkheadInFlight += bulkhead.getInFlight();
+                        rejected += bulkhead.getRejected();
+                    }
+                }
+            }
+        }
 
         return AgentStatistics.builder()
-                .totalAgents(allAgents.size())
-                .availableAgents(availableAgents.size())
-                .unavailableAgents(allAgents.size() - availableAgents.size())
+                .totalAgents(snapshot.getTotalCount())
+                .availableAgents(snapshot.getAvailableCount())
+                .unavailableAgents(snapshot.getTotalCount() - snapshot.getAvailableCount())
+                .inFlight(bulkheadInFlight)
+                .rejected(rejected)
+                .bulkheads(bulkheads)
+                .responseCache(agentManager.getResponseCacheStatistics())
+                .coalesced(coalesced.sum())
                 .build();
     }
 }
\ No newline at end of file
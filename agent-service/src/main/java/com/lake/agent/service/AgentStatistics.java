@@ -1,10 +1,14 @@
 package com.lake.agent.service;
 
+import com.lake.agent.core.cache.ResponseCacheStatistics;
+import com.lake.agent.core.execution.BulkheadStatistics;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.util.Map;
+
 /**
  * Agent统计信息
  *
@@ -32,6 +36,31 @@ public class AgentStatistics {
      */
     private int unavailableAgents;
 
+    /**
+     * 所有Agent正在处理的请求数
+     */
+    private int inFlight;
+
+    /**
+     * 所有Agent因过载累计拒绝的请求数
+     */
+    private long rejected;
+
+    /**
+     * 各Agent的并发隔离统计信息，按Agent ID索引
+     */
+    private Map<String, BulkheadStatistics> bulkheads;
+
+    /**
+     * 各Agent的响应缓存统计信息，按Agent ID索引
+     */
+    private Map<String, ResponseCacheStatistics> responseCache;
+
+    /**
+     * 与处理中的相同请求合并、未单独处理的请求数
+     */
+    private long coalesced;
+
     /**
      * 活跃度百分比
      */
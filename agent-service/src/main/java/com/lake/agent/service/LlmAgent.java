@@ -0,0 +1,187 @@
+package com.lake.agent.service;
+
+import com.lake.agent.core.AbstractAgent;
+import com.lake.agent.core.IdempotentAgent;
+import com.lake.agent.core.context.AgentContext;
+import com.lake.agent.core.context.ConversationWindow;
+import com.lake.agent.core.execution.ProcessOutcome;
+import com.lake.agent.core.message.Message;
+import com.lake.agent.core.message.MessageType;
+import com.lake.agent.framework.AgentProperties;
+import com.lake.agent.service.llm.ChatCompletionRequest;
+import com.lake.agent.service.llm.ChatCompletionResponse;
+import com.lake.agent.service.llm.ChatMessage;
+import com.lake.agent.service.llm.LlmClient;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * 基于模型服务的对话Agent
+ * 将会话历史和当前消息发送给lake.agent.ai配置的模型服务。异步处理以非阻塞方式完成，
+ * 同时进行的对话数由{@link LlmClient}的连接池而非线程数限制
+ *
+ * @author Lake Intelligence Team
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "lake.agent.ai", name = "enabled", havingValue = "true")
+public class LlmAgent extends AbstractAgent implements IdempotentAgent {
+
+    /**
+     * 元数据键：生成回复的模型
+     */
+    public static final String METADATA_MODEL = "model";
+
+    /**
+     * 元数据键：提示词token数
+     */
+    public static final String METADATA_PROMPT_TOKENS = "promptTokens";
+
+    /**
+     * 元数据键：回复token数
+     */
+    public static final String METADATA_COMPLETION_TOKENS = "completionTokens";
+
+    /**
+     * 错误代码：模型服务返回错误
+     */
+    public static final String PROVIDER_ERROR = "LLM_PROVIDER_ERROR";
+
+    private final LlmClient client;
+    private final AgentProperties.Ai config;
+
+    public LlmAgent(LlmClient client, AgentProperties properties) {
+        super("LLM Agent", "Conversational agent backed by the configured model provider");
+        this.client = client;
+        this.config = properties.getAi();
+    }
+
+    @Override
+    protected boolean isNonBlocking() {
+        return true;
+    }
+
+    @Override
+    protected Message doProcess(Message message, AgentContext context) {
+        try {
+            return doProcessAsync(message, context).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof TimeoutException) {
+                return createErrorMessage(ProcessOutcome.DEADLINE_EXCEEDED.name(), "Model provider timed out", message);
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    protected CompletableFuture<Message> doProcessAsync(Message message, AgentContext context) {
+        Mono<ChatCompletionResponse> call = client.chat(createRequest(message, context));
+        // 超过截止时间时取消订阅，中止进行中的HTTP请求并归还连接
+        if (context != null && context.hasDeadline()) {
+            call = call.timeout(Duration.ofMillis(Math.max(1, context.getRemainingMillis())));
+        }
+
+        return call
+                .map(response -> createLlmResponse(response, message))
+                .onErrorResume(WebClientResponseException.class, e -> {
+                    log.warn("Model provider returned {} for message {}", e.getStatusCode().value(), message.getId());
+                    return Mono.just(createErrorMessage(PROVIDER_ERROR,
+                            "Model provider returned " + e.getStatusCode().value(), message));
+                })
+                .toFuture();
+    }
+
+    /**
+     * 回复依赖会话历史，只合并没有历史的首轮请求
+     */
+    @Override
+    public String getCoalescingKey(Message message, AgentContext context) {
+        if (context != null && (!context.getHistoryMessages().isEmpty() || hasWindow(context))) {
+            return null;
+        }
+        return message.getType() + ":" + message.getContent();
+    }
+
+    private boolean hasWindow(AgentContext context) {
+        ConversationWindow window = context.get(ConversationWindow.KEY);
+        return window != null && !window.isEmpty();
+    }
+
+    /**
+     * 模型调用按token计费，不执行预热
+     */
+    @Override
+    protected List<Message> createWarmupMessages() {
+        return new ArrayList<>();
+    }
+
+    private ChatCompletionRequest createRequest(Message message, AgentContext context) {
+        List<ChatMessage> messages = new ArrayList<>();
+        if (StringUtils.hasText(config.getSystemPrompt())) {
+            messages.add(ChatMessage.of(ChatMessage.ROLE_SYSTEM, config.getSystemPrompt()));
+        }
+        if (context != null) {
+            // 有会话窗口时只发送滚动摘要和预算内的最近消息，否则发送全部会话历史
+            ConversationWindow window = context.get(ConversationWindow.KEY);
+            List<Message> history = context.getHistoryMessages();
+            if (window != null) {
+                String summary = window.getSummary();
+                if (StringUtils.hasText(summary)) {
+                    messages.add(ChatMessage.of(ChatMessage.ROLE_SYSTEM, "Summary of the earlier conversation:\n" + summary));
+                }
+                history = window.getMessages();
+            }
+            for (Message turn : history) {
+                if (turn.getType() == MessageType.ERROR || turn.getContent() == null) {
+                    continue;
+                }
+                String role = turn.getType() == MessageType.RESPONSE ? ChatMessage.ROLE_ASSISTANT : ChatMessage.ROLE_USER;
+                messages.add(ChatMessage.of(role, turn.getContent()));
+            }
+        }
+        messages.add(ChatMessage.of(ChatMessage.ROLE_USER, message.getContent()));
+
+        return ChatCompletionRequest.builder()
+                .messages(messages)
+                .temperature(config.getTemperature())
+                .maxTokens(config.getMaxTokens())
+                .user(context != null ? context.getUserId() : null)
+                .build();
+    }
+
+    private Message createLlmResponse(ChatCompletionResponse completion, Message originalMessage) {
+        String content = completion.getContent();
+        if (content == null) {
+            return createErrorMessage(PROVIDER_ERROR, "Model provider returned no choices", originalMessage);
+        }
+
+        Message response = createResponseMessage(content, originalMessage);
+        Map<String, Object> metadata = new HashMap<>();
+        metadata.put(METADATA_MODEL, completion.getModel());
+        if (completion.getUsage() != null) {
+            metadata.put(METADATA_PROMPT_TOKENS, completion.getUsage().getPromptTokens());
+            metadata.put(METADATA_COMPLETION_TOKENS, completion.getUsage().getCompletionTokens());
+        }
+        response.setMetadata(metadata);
+        return response;
+    }
+
+    @Override
+    protected void doInitialize() {
+        log.info("LlmAgent initialized with model {}", client.getDefaultModel());
+    }
+}
\ No newline at end of file
@@ -1,14 +1,18 @@
 package com.lake.agent.service;
 
 import com.lake.agent.core.AbstractAgent;
+import com.lake.agent.core.IdempotentAgent;
+import com.lake.agent.core.cache.CacheableAgent;
 import com.lake.agent.core.context.AgentContext;
+import com.lake.agent.core.id.MessageIds;
 import com.lake.agent.core.message.Message;
 import com.lake.agent.core.message.MessageType;
+import com.lake.agent.service.rule.KeywordRouter;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
 import java.time.LocalDateTime;
-import java.util.UUID;
+import java.util.Set;
 
 /**
  * 简单AI Agent实现
@@ -19,7 +23,30 @@ import java.util.UUID;
  */
 @Slf4j
 @Component
-public class SimpleAIAgent extends AbstractAgent {
+public class SimpleAIAgent extends AbstractAgent implements CacheableAgent, IdempotentAgent {
+
+    private static final String GREETING_REPLY = "Hello! I'm your AI assistant. How can I help you today?";
+    private static final String HELP_REPLY = "I can help you with various tasks. You can ask me questions, give me commands, or just have a conversation.";
+    private static final String WEATHER_REPLY = "I don't have access to real-time weather data, but you can check your local weather service for accurate information.";
+    private static final String STATUS_REPLY = "Agent Status: Online and ready to help!";
+
+    /**
+     * 与内容原文和当前时间无关、可以缓存的固定回复
+     */
+    private static final Set<String> CACHEABLE_REPLIES = Set.of(GREETING_REPLY, HELP_REPLY, WEATHER_REPLY, STATUS_REPLY);
+
+    private static final KeywordRouter<String> TEXT_ROUTER = KeywordRouter.<String>builder()
+            .rule("greeting", 3, (content, match) -> GREETING_REPLY, "hello", "hi")
+            .rule("help", 2, (content, match) -> HELP_REPLY, "help")
+            .rule("weather", 1, (content, match) -> WEATHER_REPLY, "weather")
+            .fallback((content, match) -> "Thank you for your message: \"" + content + "\". I'm a simple AI agent and I'm here to help!")
+            .build();
+
+    private static final KeywordRouter<String> COMMAND_ROUTER = KeywordRouter.<String>builder()
+            .rule("status", 2, (content, match) -> STATUS_REPLY, "status")
+            .rule("time", 1, (content, match) -> "Current time: " + LocalDateTime.now(), "time")
+            .fallback((content, match) -> "Command received: \"" + content + "\". This is a simple agent with limited command capabilities.")
+            .build();
 
     public SimpleAIAgent() {
         super("Simple AI Agent", "A basic AI agent for demonstration");
@@ -27,7 +54,7 @@ public class SimpleAIAgent extends AbstractAgent {
 
     @Override
     protected Message doProcess(Message message, AgentContext context) {
-        log.info("SimpleAIAgent processing message: {}", message.getContent());
+        log.debug("SimpleAIAgent processing message {}: {}", message.getId(), message.getContent());
 
         // 简单的回复逻辑
         String response = switch (message.getType()) {
@@ -38,7 +65,7 @@ public class SimpleAIAgent extends AbstractAgent {
         };
 
         return Message.builder()
-                .id(UUID.randomUUID().toString())
+                .id(MessageIds.nextId())
                 .type(MessageType.RESPONSE)
                 .content(response)
                 .sender(getId())
@@ -49,16 +76,24 @@ public class SimpleAIAgent extends AbstractAgent {
                 .build();
     }
 
+    /**
+     * 文本和命令消息查找缓存；只有固定回复会写入缓存，因此回显内容和当前时间的响应总是未命中
+     */
+    @Override
+    public boolean isCacheable(Message message) {
+        return message.getType() == MessageType.TEXT || message.getType() == MessageType.COMMAND;
+    }
+
+    /**
+     * 根据路由结果判断是否写入缓存，不再重复匹配关键词
+     */
+    @Override
+    public boolean isCacheable(Message message, Message response) {
+        return CACHEABLE_REPLIES.contains(response.getContent());
+    }
+
     private String processTextMessage(String content) {
-        if (content.toLowerCase().contains("hello") || content.toLowerCase().contains("hi")) {
-            return "Hello! I'm your AI assistant. How can I help you today?";
-        } else if (content.toLowerCase().contains("help")) {
-            return "I can help you with various tasks. You can ask me questions, give me commands, or just have a conversation.";
-        } else if (content.toLowerCase().contains("weather")) {
-            return "I don't have access to real-time weather data, but you can check your local weather service for accurate information.";
-        } else {
-            return "Thank you for your message: \"" + content + "\". I'm a simple AI agent and I'm here to help!";
-        }
+        return TEXT_ROUTER.route(content);
     }
 
     private String processQueryMessage(String content) {
@@ -66,13 +101,7 @@ public class SimpleAIAgent extends AbstractAgent {
     }
 
     private String processCommandMessage(String content) {
-        if (content.toLowerCase().contains("status")) {
-            return "Agent Status: Online and ready to help!";
-        } else if (content.toLowerCase().contains("time")) {
-            return "Current time: " + LocalDateTime.now();
-        } else {
-            return "Command received: \"" + content + "\". This is a simple agent with limited command capabilities.";
-        }
+        return COMMAND_ROUTER.route(content);
     }
 
     @Override
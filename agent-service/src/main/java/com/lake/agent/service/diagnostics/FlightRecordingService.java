@@ -0,0 +1,148 @@
+package com.lake.agent.service.diagnostics;
+
+import com.lake.agent.core.exception.AgentException;
+import com.lake.agent.core.jfr.AgentProcessEvent;
+import com.lake.agent.framework.AgentProperties;
+import com.lake.agent.tools.jfr.ToolExecutionEvent;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * JFR录制管理服务
+ * 以JDK内置配置（默认含GC、线程等事件）为基础启动录制，并额外启用Agent处理和工具执行事件，
+ * 便于将GC停顿与慢调用关联分析。同一时间只允许一个录制
+ *
+ * @author Lake Intelligence Team
+ * @since 1.0.0
+ */
+@Slf4j
+@Service
+public class FlightRecordingService {
+
+    private static final String RECORDING_NAME = "lake-agent";
+
+    private final AgentProperties.Jfr config;
+
+    private Recording recording;
+    private String settings;
+
+    public FlightRecordingService(AgentProperties properties) {
+        this.config = properties.getJfr();
+    }
+
+    @PostConstruct
+    public void init() {
+        if (config.isRecordOnStartup()) {
+            start(null);
+        }
+    }
+
+    /**
+     * 开始录制
+     *
+     * @param settingsName JDK配置名称（default或profile），为空时使用lake.agent.jfr.settings
+     * @return 录制状态
+     */
+    public synchronized FlightRecordingStatus start(String settingsName) {
+        if (recording != null) {
+            throw new AgentException("JFR_RECORDING_ACTIVE", "A recording is already running: " + recording.getId());
+        }
+
+        String name = settingsName != null && !settingsName.isBlank() ? settingsName : config.getSettings();
+        Recording newRecording;
+        try {
+            newRecording = new Recording(Configuration.getConfiguration(name));
+        } catch (Exception e) {
+            throw new AgentException("JFR_INVALID_SETTINGS", "Unknown JFR settings: " + name, e);
+        }
+
+        newRecording.setName(RECORDING_NAME);
+        newRecording.setToDisk(true);
+        if (config.getMaxAge() > 0) {
+            newRecording.setMaxAge(Duration.ofMillis(config.getMaxAge()));
+        }
+        newRecording.enable(AgentProcessEvent.NAME);
+        newRecording.enable(ToolExecutionEvent.NAME);
+        newRecording.start();
+
+        recording = newRecording;
+        settings = name;
+        log.info("Started JFR recording {} with settings {}", newRecording.getId(), name);
+        return toStatus(newRecording, null);
+    }
+
+    /**
+     * 停止录制并写入文件
+     *
+     * @return 录制状态，包含文件路径
+     */
+    public synchronized FlightRecordingStatus stop() {
+        Recording current = recording;
+        if (current == null) {
+            throw new AgentException("JFR_NO_RECORDING", "No recording is running");
+        }
+
+        recording = null;
+        try {
+            current.stop();
+            Path file = Paths.get(config.getDirectory(), RECORDING_NAME + "-" + current.getId() + "-"
+                    + System.currentTimeMillis() + ".jfr");
+            current.dump(file);
+            log.info("Stopped JFR recording {}, written to {}", current.getId(), file);
+            return toStatus(current, file);
+        } catch (Exception e) {
+            throw new AgentException("JFR_RECORDING_FAILED", "Failed to write recording: " + e.getMessage(), e);
+        } finally {
+            current.close();
+        }
+    }
+
+    /**
+     * 获取当前录制状态
+     *
+     * @return 录制状态，未在录制时返回null
+     */
+    public synchronized FlightRecordingStatus getStatus() {
+        return recording != null ? toStatus(recording, null) : null;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (getStatus() != null) {
+            stop();
+        }
+    }
+
+    private FlightRecordingStatus toStatus(Recording source, Path file) {
+        long size = 0;
+        if (file != null) {
+            try {
+                size = Files.size(file);
+            } catch (Exception e) {
+                log.debug("Unable to read size of {}", file, e);
+            }
+        }
+
+        Instant startTime = source.getStartTime();
+        return FlightRecordingStatus.builder()
+                .id(source.getId())
+                .name(source.getName())
+                .state(source.getState().name())
+                .settings(settings)
+                .startTime(startTime)
+                .stopTime(source.getStopTime())
+                .file(file != null ? file.toString() : null)
+                .size(size)
+                .build();
+    }
+}
\ No newline at end of file
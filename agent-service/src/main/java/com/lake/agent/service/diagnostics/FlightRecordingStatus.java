@@ -0,0 +1,61 @@
+package com.lake.agent.service.diagnostics;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * JFR录制状态
+ *
+ * @author Lake Intelligence Team
+ * @since 1.0.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FlightRecordingStatus {
+
+    /**
+     * 录制ID
+     */
+    private long id;
+
+    /**
+     * 录制名称
+     */
+    private String name;
+
+    /**
+     * 录制状态（NEW、RUNNING、STOPPED、CLOSED）
+     */
+    private String state;
+
+    /**
+     * 基础配置名称（default或profile）
+     */
+    private String settings;
+
+    /**
+     * 开始时间
+     */
+    private Instant startTime;
+
+    /**
+     * 结束时间
+     */
+    private Instant stopTime;
+
+    /**
+     * 录制文件路径，停止后写入
+     */
+    private String file;
+
+    /**
+     * 录制文件大小（字节）
+     */
+    private long size;
+}
\ No newline at end of file
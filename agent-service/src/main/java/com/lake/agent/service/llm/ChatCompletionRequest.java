@@ -0,0 +1,50 @@
+package com.lake.agent.service.llm;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 对话补全请求，对应OpenAI兼容接口的/chat/completions
+ *
+ * @author Lake Intelligence Team
+ * @since 1.0.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ChatCompletionRequest {
+
+    /**
+     * 模型名称
+     */
+    private String model;
+
+    /**
+     * 对话消息
+     */
+    private List<ChatMessage> messages;
+
+    /**
+     * 采样温度
+     */
+    private Double temperature;
+
+    /**
+     * 单次回复的最大token数
+     */
+    @JsonProperty("max_tokens")
+    private Integer maxTokens;
+
+    /**
+     * 终端用户标识
+     */
+    private String user;
+}
\ No newline at end of file
@@ -0,0 +1,37 @@
+package com.lake.agent.service.llm;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 对话消息，对应OpenAI兼容接口的messages元素
+ *
+ * @author Lake Intelligence Team
+ * @since 1.0.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChatMessage {
+
+    public static final String ROLE_SYSTEM = "system";
+    public static final String ROLE_USER = "user";
+    public static final String ROLE_ASSISTANT = "assistant";
+
+    /**
+     * 角色：system、user或assistant
+     */
+    private String role;
+
+    /**
+     * 消息内容
+     */
+    private String content;
+
+    public static ChatMessage of(String role, String content) {
+        return new ChatMessage(role, content);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,357 @@
+package com.lake.agent.service.llm;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lake.agent.framework.AgentProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import jakarta.annotation.PreDestroy;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 模型补全缓存
+ * 以模型名称和规范化提示词的SHA-256摘要为键精确匹配，按最近最少使用淘汰超出条目数或内存上限的条目，
+ * 读取时丢弃过期条目。只有在lake.agent.ai.models中配置了cache: true的模型才会被缓存，
+ * 配置了persist-path时启动时加载、关闭时写入本地文件
+ *
+ * @author Lake Intelligence Team
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "lake.agent.ai.cache", name = "enabled", havingValue = "true")
+public class CompletionCache {
+
+    public static final String REQUESTS_COUNTER = "lake.agent.llm.cache.requests";
+    public static final String SAVED_COUNTER = "lake.agent.llm.cache.saved";
+    public static final String SIZE_GAUGE = "lake.agent.llm.cache.size";
+
+    /**
+     * 每个条目除内容外的估算开销（字节）
+     */
+    private static final long ENTRY_OVERHEAD = 256;
+
+    private final AgentProperties.Ai ai;
+    private final AgentProperties.CompletionCache config;
+    private final MeterRegistry registry;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final LinkedHashMap<String, CacheEntry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final ConcurrentMap<String, ModelCounters> counters = new ConcurrentHashMap<>();
+    private final LongAdder evictions = new LongAdder();
+    private long memory;
+
+    public CompletionCache(AgentProperties properties, ObjectProvider<MeterRegistry> registry) {
+        this.ai = properties.getAi();
+        this.config = ai.getCache();
+        this.registry = registry.getIfAvailable(() -> Metrics.globalRegistry);
+        Gauge.builder(SIZE_GAUGE, this, CompletionCache::size)
+                .description("Number of cached model completions")
+                .register(this.registry);
+        load();
+    }
+
+    /**
+     * 判断模型是否开启了缓存
+     *
+     * @param model 模型名称
+     * @return true如果在模型配置中设置了cache: true
+     */
+    public boolean isEnabled(String model) {
+        AgentProperties.ModelConfig modelConfig = modelConfig(model);
+        return modelConfig != null && modelConfig.isCache();
+    }
+
+    /**
+     * 计算请求的缓存键：模型名称和规范化提示词的SHA-256摘要
+     * 规范化内容包括各消息的角色与去除首尾空白的内容，以及影响输出的采样参数；终端用户标识不参与计算
+     *
+     * @param request 请求
+     * @return 缓存键
+     */
+    public String key(ChatCompletionRequest request) {
+        StringBuilder canonical = new StringBuilder();
+        canonical.append(request.getTemperature()).append('|').append(request.getMaxTokens()).append('|');
+        for (ChatMessage message : request.getMessages()) {
+            String content = message.getContent() != null ? message.getContent().trim() : "";
+            // 以长度前缀分隔，避免不同的消息切分得到相同的拼接结果
+            canonical.append(message.getRole()).append(':').append(content.length()).append(':').append(content);
+        }
+        return request.getModel() + ":" + sha256(canonical.toString());
+    }
+
+    /**
+     * 查找缓存的补全结果
+     *
+     * @param model 模型名称
+     * @param key   缓存键
+     * @return 缓存的响应，不存在或已过期时返回null；调用方不得修改
+     */
+    public ChatCompletionResponse get(String model, String key) {
+        CacheEntry entry;
+        synchronized (entries) {
+            entry = entries.get(key);
+            if (entry != null && entry.expiresAt <= System.currentTimeMillis()) {
+                remove(key);
+                entry = null;
+            }
+        }
+
+        ModelCounters modelCounters = counters(model);
+        if (entry == null) {
+            modelCounters.misses.increment();
+            modelCounters.missCounter.increment();
+            return null;
+        }
+        modelCounters.hits.increment();
+        modelCounters.hitCounter.increment();
+        modelCounters.savedNanos.add(entry.latencyNanos);
+        modelCounters.saved.increment(entry.latencyNanos / 1e9);
+        return entry.response;
+    }
+
+    /**
+     * 缓存补全结果
+     *
+     * @param model        模型名称
+     * @param key          缓存键
+     * @param response     响应
+     * @param latencyNanos 模型调用耗时，命中时计入节省的时间
+     */
+    public void put(String model, String key, ChatCompletionResponse response, long latencyNanos) {
+        long ttl = ttl(model);
+        if (ttl <= 0 || response.getContent() == null) {
+            return;
+        }
+        store(key, new CacheEntry(model, response, System.currentTimeMillis() + ttl, latencyNanos));
+    }
+
+    /**
+     * 获取当前缓存条目数
+     *
+     * @return 条目数
+     */
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    /**
+     * 获取因超出条目数或内存上限被淘汰的条目数
+     *
+     * @return 淘汰数
+     */
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    /**
+     * 获取各模型的缓存统计信息
+     *
+     * @return 模型名称到统计信息的映射
+     */
+    public Map<String, CompletionCacheStatistics> getStatistics() {
+        Map<String, CompletionCacheStatistics> result = new HashMap<>();
+        counters.forEach((model, modelCounters) -> {
+            long hits = modelCounters.hits.sum();
+            long misses = modelCounters.misses.sum();
+            result.put(model, CompletionCacheStatistics.builder()
+                    .hits(hits)
+                    .misses(misses)
+                    .hitRatio(hits + misses > 0 ? (double) hits / (hits + misses) : 0)
+                    .savedMillis(TimeUnit.NANOSECONDS.toMillis(modelCounters.savedNanos.sum()))
+                    .build());
+        });
+        return result;
+    }
+
+    /**
+     * 将未过期的条目写入持久化文件，未配置persist-path时不执行
+     */
+    @PreDestroy
+    public void save() {
+        if (!StringUtils.hasText(config.getPersistPath())) {
+            return;
+        }
+
+        List<PersistedEntry> snapshot = new ArrayList<>();
+        long now = System.currentTimeMillis();
+        synchronized (entries) {
+            entries.forEach((key, entry) -> {
+                if (entry.expiresAt > now) {
+                    snapshot.add(new PersistedEntry(key, entry.model, entry.response, entry.expiresAt, entry.latencyNanos));
+                }
+            });
+        }
+
+        Path path = Paths.get(config.getPersistPath());
+        try {
+            Path parent = path.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            // 先写临时文件再替换，避免写入中断留下损坏的文件
+            Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+            objectMapper.writeValue(temp.toFile(), snapshot);
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            log.info("Saved {} completion cache entries to {}", snapshot.size(), path);
+        } catch (Exception e) {
+            log.warn("Failed to save completion cache to {}", path, e);
+        }
+    }
+
+    private void load() {
+        if (!StringUtils.hasText(config.getPersistPath())) {
+            return;
+        }
+
+        Path path = Paths.get(config.getPersistPath());
+        if (!Files.exists(path)) {
+            return;
+        }
+
+        try {
+            List<PersistedEntry> persisted = objectMapper.readValue(path.toFile(), new TypeReference<>() {
+            });
+            long now = System.currentTimeMillis();
+            int loaded = 0;
+            for (PersistedEntry entry : persisted) {
+                // 模型可能已关闭缓存
+                if (entry.getExpiresAt() > now && isEnabled(entry.getModel())) {
+                    store(entry.getKey(), new CacheEntry(entry.getModel(), entry.getResponse(),
+                            entry.getExpiresAt(), entry.getLatencyNanos()));
+                    loaded++;
+                }
+            }
+            log.info("Loaded {} completion cache entries from {}", loaded, path);
+        } catch (Exception e) {
+            log.warn("Failed to load completion cache from {}, starting empty", path, e);
+        }
+    }
+
+    private void store(String key, CacheEntry entry) {
+        synchronized (entries) {
+            CacheEntry previous = entries.put(key, entry);
+            if (previous != null) {
+                memory -= previous.size;
+            }
+            memory += entry.size;
+
+            Iterator<Map.Entry<String, CacheEntry>> eldest = entries.entrySet().iterator();
+            while ((entries.size() > config.getMaxEntries() || memory > config.getMaxMemory()) && eldest.hasNext()) {
+                memory -= eldest.next().getValue().size;
+                eldest.remove();
+                evictions.increment();
+            }
+        }
+    }
+
+    private void remove(String key) {
+        CacheEntry removed = entries.remove(key);
+        if (removed != null) {
+            memory -= removed.size;
+        }
+    }
+
+    private long ttl(String model) {
+        AgentProperties.ModelConfig modelConfig = modelConfig(model);
+        return modelConfig != null && modelConfig.getCacheTtl() != null ? modelConfig.getCacheTtl() : config.getTtl();
+    }
+
+    private AgentProperties.ModelConfig modelConfig(String model) {
+        return model != null ? ai.getModels().get(model) : null;
+    }
+
+    private ModelCounters counters(String model) {
+        return counters.computeIfAbsent(model, name -> new ModelCounters(
+                Counter.builder(REQUESTS_COUNTER).tag("model", name).tag("result", "hit")
+                        .description("Completion cache lookups").register(registry),
+                Counter.builder(REQUESTS_COUNTER).tag("model", name).tag("result", "miss")
+                        .description("Completion cache lookups").register(registry),
+                Counter.builder(SAVED_COUNTER).tag("model", name).baseUnit("seconds")
+                        .description("Model latency avoided by completion cache hits").register(registry)));
+    }
+
+    private static String sha256(String value) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static final class CacheEntry {
+        private final String model;
+        private final ChatCompletionResponse response;
+        private final long expiresAt;
+        private final long latencyNanos;
+        private final long size;
+
+        private CacheEntry(String model, ChatCompletionResponse response, long expiresAt, long latencyNanos) {
+            this.model = model;
+            this.response = response;
+            this.expiresAt = expiresAt;
+            this.latencyNanos = latencyNanos;
+            String content = response.getContent();
+            this.size = ENTRY_OVERHEAD + 2L * (content != null ? content.length() : 0);
+        }
+    }
+
+    private static final class ModelCounters {
+        private final LongAdder hits = new LongAdder();
+        private final LongAdder misses = new LongAdder();
+        private final LongAdder savedNanos = new LongAdder();
+        private final Counter hitCounter;
+        private final Counter missCounter;
+        private final Counter saved;
+
+        private ModelCounters(Counter hitCounter, Counter missCounter, Counter saved) {
+            this.hitCounter = hitCounter;
+            this.missCounter = missCounter;
+            this.saved = saved;
+        }
+    }
+
+    /**
+     * 持久化文件中的缓存条目
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class PersistedEntry {
+        private String key;
+        private String model;
+        private ChatCompletionResponse response;
+        private long expiresAt;
+        private long latencyNanos;
+    }
+}
\ No newline at end of file
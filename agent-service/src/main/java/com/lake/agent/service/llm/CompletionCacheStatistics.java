@@ -0,0 +1,39 @@
+package com.lake.agent.service.llm;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 单个模型的补全缓存统计信息
+ *
+ * @author Lake Intelligence Team
+ * @since 1.0.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CompletionCacheStatistics {
+
+    /**
+     * 命中次数
+     */
+    private long hits;
+
+    /**
+     * 未命中次数
+     */
+    private long misses;
+
+    /**
+     * 命中率
+     */
+    private double hitRatio;
+
+    /**
+     * 命中节省的模型调用时间（毫秒），按缓存条目原始调用耗时累计
+     */
+    private long savedMillis;
+}
\ No newline at end of file
@@ -0,0 +1,127 @@
+package com.lake.agent.service.llm;
+
+import com.lake.agent.framework.AgentProperties;
+import io.netty.channel.ChannelOption;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+
+/**
+ * 模型服务客户端
+ * 通过OpenAI兼容的/chat/completions接口调用lake.agent.ai.api-config.base-url指定的模型服务。
+ * 所有LLM Agent共享同一个有界连接池，请求在Netty事件循环上以非阻塞方式完成，并发对话数不受线程数限制
+ *
+ * @author Lake Intelligence Team
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "lake.agent.ai", name = "enabled", havingValue = "true")
+public class LlmClient {
+
+    private static final String DEFAULT_BASE_URL = "https://api.openai.com/v1";
+    private static final String DEFAULT_MODEL = "gpt-3.5-turbo";
+
+    private final ConnectionProvider connectionProvider;
+    private final WebClient webClient;
+    private final String defaultModel;
+    private final CompletionCache cache;
+
+    public LlmClient(AgentProperties properties, ObjectProvider<CompletionCache> cache) {
+        this.cache = cache.getIfAvailable();
+        AgentProperties.Ai ai = properties.getAi();
+        AgentProperties.Http http = ai.getHttp();
+
+        this.connectionProvider = ConnectionProvider.builder("lake-llm")
+                .maxConnections(http.getMaxConnections())
+                .pendingAcquireMaxCount(http.getPendingAcquireMaxCount())
+                .pendingAcquireTimeout(Duration.ofMillis(http.getPendingAcquireTimeout()))
+                .maxIdleTime(Duration.ofMillis(http.getMaxIdleTime()))
+                .maxLifeTime(Duration.ofMillis(http.getMaxLifeTime()))
+                .evictInBackground(Duration.ofMillis(Math.max(1000, http.getMaxIdleTime() / 2)))
+                .metrics(true)
+                .build();
+
+        HttpClient httpClient = HttpClient.create(connectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, http.getConnectTimeout())
+                .responseTimeout(Duration.ofMillis(http.getResponseTimeout()))
+                .compress(true);
+
+        String baseUrl = ai.getApiConfig().getOrDefault("base-url", DEFAULT_BASE_URL);
+        WebClient.Builder builder = WebClient.builder()
+                .baseUrl(baseUrl)
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .defaultHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE);
+        String apiKey = ai.getApiConfig().get("api-key");
+        if (StringUtils.hasText(apiKey)) {
+            builder.defaultHeader(HttpHeaders.AUTHORIZATION, "Bearer " + apiKey);
+        }
+        this.webClient = builder.build();
+
+        this.defaultModel = StringUtils.hasText(ai.getDefaultModel()) ? ai.getDefaultModel() : DEFAULT_MODEL;
+        log.info("LLM client targeting {} with model {}, max {} connections",
+                baseUrl, defaultModel, http.getMaxConnections());
+    }
+
+    /**
+     * 发送对话补全请求，未指定模型时使用lake.agent.ai.default-model
+     * 启用了补全缓存的模型先查找缓存，命中时不发出请求
+     *
+     * @param request 请求
+     * @return 响应，请求在订阅时发出，取消订阅时中止
+     */
+    public Mono<ChatCompletionResponse> chat(ChatCompletionRequest request) {
+        if (!StringUtils.hasText(request.getModel())) {
+            request.setModel(defaultModel);
+        }
+
+        String model = request.getModel();
+        if (cache == null || !cache.isEnabled(model)) {
+            return send(request);
+        }
+
+        return Mono.defer(() -> {
+            String key = cache.key(request);
+            ChatCompletionResponse cached = cache.get(model, key);
+            if (cached != null) {
+                return Mono.just(cached);
+            }
+            long start = System.nanoTime();
+            return send(request).doOnNext(response -> cache.put(model, key, response, System.nanoTime() - start));
+        });
+    }
+
+    private Mono<ChatCompletionResponse> send(ChatCompletionRequest request) {
+        return webClient.post()
+                .uri("/chat/completions")
+                .bodyValue(request)
+                .retrieve()
+                .bodyToMono(ChatCompletionResponse.class);
+    }
+
+    /**
+     * 获取默认模型名称
+     *
+     * @return 模型名称
+     */
+    public String getDefaultModel() {
+        return defaultModel;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        connectionProvider.dispose();
+    }
+}
\ No newline at end of file
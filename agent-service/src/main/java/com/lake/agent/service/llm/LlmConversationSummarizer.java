@@ -0,0 +1,70 @@
+package com.lake.agent.service.llm;
+
+import com.lake.agent.core.context.ConversationSummarizer;
+import com.lake.agent.core.message.Message;
+import com.lake.agent.core.message.MessageType;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 基于模型服务的会话摘要
+ * 将已有摘要和移出会话窗口的消息发送给模型服务，生成新的滚动摘要。
+ * 通过lake.agent.context.window.summarizer=llm启用，需同时启用lake.agent.ai
+ *
+ * @author Lake Intelligence Team
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "lake.agent.context.window", name = "summarizer", havingValue = "llm")
+public class LlmConversationSummarizer implements ConversationSummarizer {
+
+    private static final String INSTRUCTION = "You maintain a running summary of a conversation. "
+            + "Merge the new messages into the existing summary. Keep facts, names, decisions and open questions; "
+            + "drop small talk. Reply with the summary only, in at most %d tokens.";
+
+    private final LlmClient client;
+
+    public LlmConversationSummarizer(LlmClient client) {
+        this.client = client;
+    }
+
+    @Override
+    public CompletableFuture<String> summarize(String summary, List<Message> messages, int maxTokens) {
+        StringBuilder transcript = new StringBuilder();
+        if (StringUtils.hasText(summary)) {
+            transcript.append("Existing summary:\n").append(summary).append("\n\n");
+        }
+        transcript.append("New messages:\n");
+        for (Message message : messages) {
+            if (message.getType() == MessageType.ERROR || message.getContent() == null) {
+                continue;
+            }
+            String role = message.getType() == MessageType.RESPONSE ? ChatMessage.ROLE_ASSISTANT : ChatMessage.ROLE_USER;
+            transcript.append(role).append(": ").append(message.getContent()).append('\n');
+        }
+
+        ChatCompletionRequest request = ChatCompletionRequest.builder()
+                .messages(List.of(
+                        ChatMessage.of(ChatMessage.ROLE_SYSTEM, String.format(INSTRUCTION, maxTokens)),
+                        ChatMessage.of(ChatMessage.ROLE_USER, transcript.toString())))
+                .temperature(0.0)
+                .maxTokens(maxTokens)
+                .build();
+
+        return client.chat(request)
+                .map(response -> {
+                    String content = response.getContent();
+                    if (content == null) {
+                        throw new IllegalStateException("Model provider returned no summary");
+                    }
+                    return content.trim();
+                })
+                .toFuture();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,136 @@
+package com.lake.agent.service.metrics;
+
+import com.lake.agent.core.AgentManager;
+import com.lake.agent.core.execution.AgentExecutionListener;
+import com.lake.agent.core.execution.ProcessOutcome;
+import com.lake.agent.core.message.Message;
+import com.lake.agent.tools.ToolExecutionListener;
+import com.lake.agent.tools.ToolExecutor;
+import com.lake.agent.tools.ToolResult;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Agent运行指标
+ * 以Micrometer计时器记录Agent处理、服务层请求和工具执行的耗时与结果，
+ * 并以仪表盘指标暴露注册表大小和处理中请求数。由lake.agent.manager.monitoring控制是否启用
+ *
+ * @author Lake Intelligence Team
+ * @since 1.0.0
+ */
+@Component
+@ConditionalOnProperty(prefix = "lake.agent.manager", name = "monitoring", havingValue = "true", matchIfMissing = true)
+public class AgentMetrics implements AgentExecutionListener, ToolExecutionListener {
+
+    public static final String PROCESS_TIMER = "lake.agent.process";
+    public static final String REQUEST_TIMER = "lake.agent.requests";
+    public static final String TOOL_TIMER = "lake.agent.tool.execution";
+    public static final String IN_FLIGHT_GAUGE = "lake.agent.in.flight";
+    public static final String REGISTRY_GAUGE = "lake.agent.registry.size";
+
+    private static final String UNKNOWN = "UNKNOWN";
+
+    private final MeterRegistry registry;
+    private final ObjectProvider<AgentManager> agentManager;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final ConcurrentMap<TimerKey, Timer> timers = new ConcurrentHashMap<>();
+
+    /**
+     * 构造函数
+     * AgentManager在创建时依赖本监听器，因此通过ObjectProvider延迟获取，仅在采集仪表盘指标时访问
+     *
+     * @param registry     指标注册表，不存在时使用全局注册表
+     * @param agentManager Agent管理器
+     */
+    public AgentMetrics(ObjectProvider<MeterRegistry> registry, ObjectProvider<AgentManager> agentManager) {
+        this.registry = registry.getIfAvailable(() -> Metrics.globalRegistry);
+        // 仪表盘指标只持有被观测对象的弱引用，需由本对象持有
+        this.agentManager = agentManager;
+
+        Gauge.builder(IN_FLIGHT_GAUGE, inFlight, AtomicInteger::get)
+                .description("Messages currently being processed by agents")
+                .register(this.registry);
+        Gauge.builder(REGISTRY_GAUGE, this.agentManager, provider -> registrySize(provider, false))
+                .description("Registered agents")
+                .tag("state", "total")
+                .register(this.registry);
+        Gauge.builder(REGISTRY_GAUGE, this.agentManager, provider -> registrySize(provider, true))
+                .description("Registered agents")
+                .tag("state", "available")
+                .register(this.registry);
+    }
+
+    @Override
+    public void onStart(String agentId, Message message) {
+        inFlight.incrementAndGet();
+    }
+
+    @Override
+    public void onComplete(String agentId, Message message, ProcessOutcome outcome, long durationNanos) {
+        inFlight.decrementAndGet();
+        String type = message.getType() != null ? message.getType().name() : UNKNOWN;
+        timer(PROCESS_TIMER, agentId, type, outcome.name()).record(durationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void onExecute(String toolName, ToolResult result, long durationNanos) {
+        String outcome;
+        if (result == null) {
+            outcome = ProcessOutcome.ERROR.name();
+        } else if (result.isSuccess()) {
+            outcome = ProcessOutcome.SUCCESS.name();
+        } else if (ToolExecutor.DEADLINE_EXCEEDED.equals(result.getErrorCode())) {
+            outcome = ProcessOutcome.DEADLINE_EXCEEDED.name();
+        } else {
+            outcome = ProcessOutcome.ERROR.name();
+        }
+        timer(TOOL_TIMER, toolName, null, outcome).record(durationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * 记录服务层请求
+     *
+     * @param agentId       Agent ID
+     * @param mode          调用方式，如sync、async
+     * @param outcome       处理结果
+     * @param durationNanos 耗时（纳秒）
+     */
+    public void recordRequest(String agentId, String mode, ProcessOutcome outcome, long durationNanos) {
+        timer(REQUEST_TIMER, agentId, mode, outcome.name()).record(durationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private Timer timer(String name, String subject, String detail, String outcome) {
+        return timers.computeIfAbsent(new TimerKey(name, subject, detail, outcome), key -> {
+            Timer.Builder builder = Timer.builder(name).tag("outcome", outcome);
+            switch (name) {
+                case PROCESS_TIMER -> builder.description("Agent message processing time")
+                        .tag("agent", subject).tag("type", detail);
+                case REQUEST_TIMER -> builder.description("Agent service request time")
+                        .tag("agent", subject).tag("mode", detail);
+                default -> builder.description("Tool execution time").tag("tool", subject);
+            }
+            return builder.register(registry);
+        });
+    }
+
+    private static double registrySize(ObjectProvider<AgentManager> provider, boolean availableOnly) {
+        AgentManager manager = provider.getIfAvailable();
+        if (manager == null) {
+            return 0;
+        }
+        return availableOnly ? manager.getSnapshot().getAvailableCount() : manager.getSnapshot().getTotalCount();
+    }
+
+    private record TimerKey(String name, String subject, String detail, String outcome) {
+    }
+}
\ No newline at end of file
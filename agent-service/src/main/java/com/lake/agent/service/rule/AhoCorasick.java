@@ -0,0 +1,205 @@
+package com.lake.agent.service.rule;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 忽略大小写的Aho-Corasick多模式匹配自动机
+ * 模式串在编译时统一折叠大小写，匹配时对文本逐字符折叠，单次遍历即可找到所有模式串的出现位置。
+ * 编译完成后不可变，可被多个线程共享
+ *
+ * @author Lake Intelligence Team
+ * @since 1.0.0
+ */
+public final class AhoCorasick {
+
+    private static final int ROOT = 0;
+    private static final int[] NO_OUTPUTS = new int[0];
+
+    /**
+     * 每个节点按字符排序的转移标签及对应的目标节点
+     */
+    private final char[][] labels;
+    private final int[][] targets;
+
+    /**
+     * 失配指针
+     */
+    private final int[] fail;
+
+    /**
+     * 在节点处结束的模式串ID
+     */
+    private final int[][] outputs;
+
+    /**
+     * 沿失配链最近的有输出的节点，不存在时为-1
+     */
+    private final int[] outputLink;
+
+    private final int[] patternLengths;
+
+    private AhoCorasick(char[][] labels, int[][] targets, int[] fail, int[][] outputs, int[] outputLink,
+                        int[] patternLengths) {
+        this.labels = labels;
+        this.targets = targets;
+        this.fail = fail;
+        this.outputs = outputs;
+        this.outputLink = outputLink;
+        this.patternLengths = patternLengths;
+    }
+
+    /**
+     * 编译模式串，模式串ID为其在列表中的下标
+     *
+     * @param patterns 模式串列表
+     * @return 自动机
+     */
+    public static AhoCorasick compile(List<String> patterns) {
+        List<Map<Character, Integer>> children = new ArrayList<>();
+        List<List<Integer>> nodeOutputs = new ArrayList<>();
+        children.add(new HashMap<>());
+        nodeOutputs.add(new ArrayList<>());
+
+        int[] patternLengths = new int[patterns.size()];
+        for (int id = 0; id < patterns.size(); id++) {
+            String pattern = patterns.get(id);
+            if (pattern == null || pattern.isEmpty()) {
+                throw new IllegalArgumentException("Pattern cannot be empty: index " + id);
+            }
+
+            int node = ROOT;
+            for (int i = 0; i < pattern.length(); i++) {
+                char c = fold(pattern.charAt(i));
+                Integer next = children.get(node).get(c);
+                if (next == null) {
+                    next = children.size();
+                    children.add(new HashMap<>());
+                    nodeOutputs.add(new ArrayList<>());
+                    children.get(node).put(c, next);
+                }
+                node = next;
+            }
+            nodeOutputs.get(node).add(id);
+            patternLengths[id] = pattern.length();
+        }
+
+        int size = children.size();
+        int[] fail = new int[size];
+        int[] outputLink = new int[size];
+        outputLink[ROOT] = -1;
+
+        // 按广度优先顺序计算失配指针，父节点的失配指针总是先于子节点确定
+        Deque<Integer> queue = new ArrayDeque<>();
+        queue.add(ROOT);
+        while (!queue.isEmpty()) {
+            int node = queue.poll();
+            for (Map.Entry<Character, Integer> edge : children.get(node).entrySet()) {
+                char c = edge.getKey();
+                int child = edge.getValue();
+                int target = ROOT;
+                if (node != ROOT) {
+                    int f = fail[node];
+                    while (f != ROOT && !children.get(f).containsKey(c)) {
+                        f = fail[f];
+                    }
+                    target = children.get(f).getOrDefault(c, ROOT);
+                }
+                fail[child] = target;
+                outputLink[child] = !nodeOutputs.get(target).isEmpty() ? target : outputLink[target];
+                queue.add(child);
+            }
+        }
+
+        char[][] labels = new char[size][];
+        int[][] targets = new int[size][];
+        int[][] outputs = new int[size][];
+        for (int node = 0; node < size; node++) {
+            Map<Character, Integer> edges = children.get(node);
+            char[] nodeLabels = new char[edges.size()];
+            int i = 0;
+            for (char c : edges.keySet()) {
+                nodeLabels[i++] = c;
+            }
+            Arrays.sort(nodeLabels);
+            int[] nodeTargets = new int[nodeLabels.length];
+            for (i = 0; i < nodeLabels.length; i++) {
+                nodeTargets[i] = edges.get(nodeLabels[i]);
+            }
+            labels[node] = nodeLabels;
+            targets[node] = nodeTargets;
+
+            List<Integer> ids = nodeOutputs.get(node);
+            outputs[node] = ids.isEmpty() ? NO_OUTPUTS : ids.stream().mapToInt(Integer::intValue).toArray();
+        }
+
+        return new AhoCorasick(labels, targets, fail, outputs, outputLink, patternLengths);
+    }
+
+    /**
+     * 在文本中查找所有模式串的出现位置
+     *
+     * @param text     文本
+     * @param listener 匹配回调，返回false时停止查找
+     */
+    public void search(CharSequence text, MatchListener listener) {
+        int node = ROOT;
+        for (int i = 0; i < text.length(); i++) {
+            char c = fold(text.charAt(i));
+            int next;
+            while ((next = step(node, c)) < 0 && node != ROOT) {
+                node = fail[node];
+            }
+            node = next < 0 ? ROOT : next;
+
+            int end = i + 1;
+            for (int n = outputs[node].length > 0 ? node : outputLink[node]; n >= 0; n = outputLink[n]) {
+                for (int pattern : outputs[n]) {
+                    if (!listener.onMatch(pattern, end - patternLengths[pattern], end)) {
+                        return;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * 获取模式串数量
+     *
+     * @return 模式串数量
+     */
+    public int getPatternCount() {
+        return patternLengths.length;
+    }
+
+    private int step(int node, char c) {
+        int index = Arrays.binarySearch(labels[node], c);
+        return index >= 0 ? targets[node][index] : -1;
+    }
+
+    static char fold(char c) {
+        return Character.toLowerCase(Character.toUpperCase(c));
+    }
+
+    /**
+     * 匹配回调
+     */
+    @FunctionalInterface
+    public interface MatchListener {
+
+        /**
+         * 找到一个模式串出现
+         *
+         * @param pattern 模式串ID
+         * @param start   起始位置（包含）
+         * @param end     结束位置（不包含）
+         * @return true继续查找，false停止
+         */
+        boolean onMatch(int pattern, int start, int end);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,21 @@
+package com.lake.agent.service.rule;
+
+/**
+ * 关键词规则处理器
+ *
+ * @param <T> 处理结果类型
+ * @author Lake Intelligence Team
+ * @since 1.0.0
+ */
+@FunctionalInterface
+public interface KeywordHandler<T> {
+
+    /**
+     * 处理命中规则的内容
+     *
+     * @param content 原始内容
+     * @param match   匹配结果，由兜底处理器处理时为null
+     * @return 处理结果
+     */
+    T handle(String content, KeywordMatch match);
+}
\ No newline at end of file
@@ -0,0 +1,14 @@
+package com.lake.agent.service.rule;
+
+/**
+ * 关键词规则的匹配结果
+ *
+ * @param rule    规则名称
+ * @param keyword 命中的关键词
+ * @param start   在内容中的起始位置（包含）
+ * @param end     在内容中的结束位置（不包含）
+ * @author Lake Intelligence Team
+ * @since 1.0.0
+ */
+public record KeywordMatch(String rule, String keyword, int start, int end) {
+}
\ No newline at end of file
@@ -0,0 +1,238 @@
+package com.lake.agent.service.rule;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * 基于关键词的意图路由器
+ * 所有规则的关键词编译为一个忽略大小写的{@link AhoCorasick}自动机，对内容只做一次遍历，
+ * 命中多个规则时按优先级（数值大者优先，相同时按注册顺序）选择处理器。编译完成后不可变，可被多个线程共享
+ *
+ * @param <T> 处理结果类型
+ * @author Lake Intelligence Team
+ * @since 1.0.0
+ */
+public final class KeywordRouter<T> {
+
+    private final List<Rule<T>> rules;
+    private final AhoCorasick automaton;
+    private final int[] patternRules;
+    private final String[] patterns;
+    private final boolean wholeWords;
+    private final KeywordHandler<T> fallback;
+
+    private KeywordRouter(Builder<T> builder) {
+        // 规则按优先级排序后，规则下标越小优先级越高
+        List<Rule<T>> sorted = new ArrayList<>(builder.rules);
+        sorted.sort(Comparator.comparingInt((Rule<T> rule) -> rule.priority).reversed()
+                .thenComparingInt(rule -> rule.order));
+        this.rules = List.copyOf(sorted);
+
+        List<String> keywords = new ArrayList<>();
+        List<Integer> owners = new ArrayList<>();
+        for (int i = 0; i < rules.size(); i++) {
+            for (String keyword : rules.get(i).keywords) {
+                keywords.add(keyword);
+                owners.add(i);
+            }
+        }
+        this.automaton = AhoCorasick.compile(keywords);
+        this.patternRules = owners.stream().mapToInt(Integer::intValue).toArray();
+        this.patterns = keywords.toArray(new String[0]);
+        this.wholeWords = builder.wholeWords;
+        this.fallback = builder.fallback;
+    }
+
+    public static <T> Builder<T> builder() {
+        return new Builder<>();
+    }
+
+    /**
+     * 将内容分派给优先级最高的命中规则，无命中时交给兜底处理器
+     *
+     * @param content 内容
+     * @return 处理结果，无命中且未设置兜底处理器时返回null
+     */
+    public T route(String content) {
+        int[] best = searchBest(content);
+        if (best != null) {
+            return rules.get(best[0]).handler.handle(content, toMatch(best));
+        }
+        return fallback != null ? fallback.handle(content, null) : null;
+    }
+
+    /**
+     * 查找优先级最高的命中规则
+     *
+     * @param content 内容
+     * @return 该规则在内容中的第一次命中，无命中时返回null
+     */
+    public KeywordMatch findBest(String content) {
+        int[] best = searchBest(content);
+        return best != null ? toMatch(best) : null;
+    }
+
+    /**
+     * 单次遍历查找优先级最高的命中规则
+     *
+     * @return {规则下标, 模式串ID, 起始位置}，无命中时返回null
+     */
+    private int[] searchBest(String content) {
+        if (content == null || content.isEmpty()) {
+            return null;
+        }
+
+        int[] best = {Integer.MAX_VALUE, -1, -1};
+        automaton.search(content, (pattern, start, end) -> {
+            int rule = patternRules[pattern];
+            if (rule < best[0] && isWholeWord(content, start, end)) {
+                best[0] = rule;
+                best[1] = pattern;
+                best[2] = start;
+            }
+            // 已命中最高优先级的规则时无需继续
+            return best[0] != 0;
+        });
+
+        return best[1] >= 0 ? best : null;
+    }
+
+    private KeywordMatch toMatch(int[] best) {
+        String keyword = patterns[best[1]];
+        return new KeywordMatch(rules.get(best[0]).name, keyword, best[2], best[2] + keyword.length());
+    }
+
+    /**
+     * 查找所有命中的规则
+     *
+     * @param content 内容
+     * @return 命中的规则名称，按优先级排序
+     */
+    public List<String> findAll(String content) {
+        if (content == null || content.isEmpty()) {
+            return List.of();
+        }
+
+        boolean[] matched = new boolean[rules.size()];
+        automaton.search(content, (pattern, start, end) -> {
+            if (isWholeWord(content, start, end)) {
+                matched[patternRules[pattern]] = true;
+            }
+            return true;
+        });
+
+        List<String> names = new ArrayList<>();
+        for (int i = 0; i < matched.length; i++) {
+            if (matched[i]) {
+                names.add(rules.get(i).name);
+            }
+        }
+        return names;
+    }
+
+    /**
+     * 获取规则数量
+     *
+     * @return 规则数量
+     */
+    public int getRuleCount() {
+        return rules.size();
+    }
+
+    /**
+     * 获取关键词数量
+     *
+     * @return 关键词数量
+     */
+    public int getKeywordCount() {
+        return automaton.getPatternCount();
+    }
+
+    private boolean isWholeWord(String content, int start, int end) {
+        return !wholeWords
+                || ((start == 0 || !Character.isLetterOrDigit(content.charAt(start - 1)))
+                && (end == content.length() || !Character.isLetterOrDigit(content.charAt(end))));
+    }
+
+    private static final class Rule<T> {
+        private final String name;
+        private final int priority;
+        private final int order;
+        private final KeywordHandler<T> handler;
+        private final List<String> keywords;
+
+        private Rule(String name, int priority, int order, KeywordHandler<T> handler, List<String> keywords) {
+            this.name = name;
+            this.priority = priority;
+            this.order = order;
+            this.handler = handler;
+            this.keywords = keywords;
+        }
+    }
+
+    /**
+     * 路由器构建器
+     *
+     * @param <T> 处理结果类型
+     */
+    public static final class Builder<T> {
+
+        private final List<Rule<T>> rules = new ArrayList<>();
+        private boolean wholeWords;
+        private KeywordHandler<T> fallback;
+
+        private Builder() {
+        }
+
+        /**
+         * 添加规则，任一关键词出现在内容中即视为命中
+         *
+         * @param name     规则名称，需唯一
+         * @param priority 优先级，数值大者优先
+         * @param handler  处理器
+         * @param keywords 关键词或短语
+         * @return 构建器
+         */
+        public Builder<T> rule(String name, int priority, KeywordHandler<T> handler, String... keywords) {
+            if (name == null || handler == null) {
+                throw new IllegalArgumentException("Rule name and handler cannot be null");
+            }
+            if (keywords == null || keywords.length == 0) {
+                throw new IllegalArgumentException("Rule must have at least one keyword: " + name);
+            }
+            if (rules.stream().anyMatch(rule -> rule.name.equals(name))) {
+                throw new IllegalArgumentException("Duplicate rule name: " + name);
+            }
+            rules.add(new Rule<>(name, priority, rules.size(), handler, List.copyOf(Arrays.asList(keywords))));
+            return this;
+        }
+
+        /**
+         * 是否只匹配完整单词，默认false即按子串匹配
+         *
+         * @param wholeWords 是否只匹配完整单词
+         * @return 构建器
+         */
+        public Builder<T> wholeWords(boolean wholeWords) {
+            this.wholeWords = wholeWords;
+            return this;
+        }
+
+        /**
+         * 设置无规则命中时的兜底处理器
+         *
+         * @param fallback 兜底处理器
+         * @return 构建器
+         */
+        public Builder<T> fallback(KeywordHandler<T> fallback) {
+            this.fallback = fallback;
+            return this;
+        }
+
+        public KeywordRouter<T> build() {
+            return new KeywordRouter<>(this);
+        }
+    }
+}
\ No newline at end of file
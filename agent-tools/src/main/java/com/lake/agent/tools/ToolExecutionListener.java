@@ -0,0 +1,20 @@
+package com.lake.agent.tools;
+
+/**
+ * 工具执行监听器
+ * 在每次通过{@link ToolExecutor}执行工具后回调，用于指标采集和诊断事件
+ *
+ * @author Lake Intelligence Team
+ * @since 1.0.0
+ */
+public interface ToolExecutionListener {
+
+    /**
+     * 工具执行结束
+     *
+     * @param toolName      工具名称
+     * @param result        执行结果，工具抛出异常时为null
+     * @param durationNanos 执行耗时（纳秒）
+     */
+    void onExecute(String toolName, ToolResult result, long durationNanos);
+}
\ No newline at end of file
@@ -0,0 +1,114 @@
+package com.lake.agent.tools;
+
+import com.lake.agent.core.context.AgentContext;
+import com.lake.agent.tools.jfr.ToolExecutionEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * 工具执行器
+ * 按名称查找工具并在调用方的截止时间内执行，已过截止时间的调用不再开始执行
+ *
+ * @author Lake Intelligence Team
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+public class ToolExecutor {
+
+    /**
+     * 错误代码：截止时间已过
+     */
+    public static final String DEADLINE_EXCEEDED = "DEADLINE_EXCEEDED";
+
+    private final Map<String, Tool> tools = new LinkedHashMap<>();
+    private final List<ToolExecutionListener> listeners;
+
+    public ToolExecutor(List<Tool> tools, ObjectProvider<ToolExecutionListener> listeners) {
+        this.listeners = listeners.orderedStream().toList();
+        for (Tool tool : tools) {
+            Tool previous = this.tools.putIfAbsent(tool.getName(), tool);
+            if (previous != null) {
+                log.warn("Duplicate tool name {}: keeping {}, ignoring {}",
+                        tool.getName(), previous.getClass().getName(), tool.getClass().getName());
+            }
+        }
+    }
+
+    /**
+     * 根据名称获取工具
+     *
+     * @param toolName 工具名称
+     * @return 工具，不存在时返回empty
+     */
+    public Optional<Tool> getTool(String toolName) {
+        return Optional.ofNullable(tools.get(toolName));
+    }
+
+    /**
+     * 获取所有工具
+     *
+     * @return 工具列表
+     */
+    public List<Tool> getTools() {
+        return new ArrayList<>(tools.values());
+    }
+
+    /**
+     * 执行工具
+     *
+     * @param tool    工具
+     * @param input   输入参数
+     * @param context Agent上下文，其截止时间决定工具可用的时间预算
+     * @return 执行结果
+     */
+    public ToolResult execute(Tool tool, ToolInput input, AgentContext context) {
+        if (context != null && context.isDeadlineExceeded()) {
+            log.warn("Skipping tool {}: deadline exceeded", tool.getName());
+            ToolResult skipped = ToolResult.failure(DEADLINE_EXCEEDED, "Deadline exceeded before tool execution started");
+            notifyListeners(tool, skipped, 0);
+            return skipped;
+        }
+
+        ToolExecutionEvent event = new ToolExecutionEvent();
+        if (listeners.isEmpty() && !event.isEnabled()) {
+            return tool.execute(input, context);
+        }
+
+        event.begin();
+        long start = System.nanoTime();
+        ToolResult result = null;
+        try {
+            result = tool.execute(input, context);
+            return result;
+        } finally {
+            long durationNanos = System.nanoTime() - start;
+            event.end();
+            if (event.shouldCommit()) {
+                event.toolName = tool.getName();
+                event.success = result != null && result.isSuccess();
+                event.errorCode = result != null ? result.getErrorCode() : null;
+                event.resultSize = result != null ? ToolExecutionEvent.sizeOf(result.getData()) : -1;
+                event.commit();
+            }
+            notifyListeners(tool, result, durationNanos);
+        }
+    }
+
+    private void notifyListeners(Tool tool, ToolResult result, long durationNanos) {
+        for (ToolExecutionListener listener : listeners) {
+            try {
+                listener.onExecute(tool.getName(), result, durationNanos);
+            } catch (Exception e) {
+                log.warn("Tool execution listener failed for tool {}", tool.getName(), e);
+            }
+        }
+    }
+}
\ No newline at end of file
@@ -2,6 +2,7 @@ package com.lake.agent.tools.http;
 
 import com.lake.agent.core.context.AgentContext;
 import com.lake.agent.tools.Tool;
+import com.lake.agent.tools.ToolExecutor;
 import com.lake.agent.tools.ToolInput;
 import com.lake.agent.tools.ToolResult;
 import lombok.extern.slf4j.Slf4j;
@@ -55,7 +56,20 @@ public class HttpRequestTool implements Tool {
             Object body = input.getParameter("body");
             Integer timeout = input.getParameter("timeout", 10);
 
-            log.debug("Executing HTTP {} request to: {}", method, url);
+            // 请求超时不超过调用方剩余的时间预算
+            Duration requestTimeout = Duration.ofSeconds(timeout);
+            if (context != null && context.hasDeadline()) {
+                long remaining = context.getRemainingMillis();
+                if (remaining <= 0) {
+                    return ToolResult.failure(ToolExecutor.DEADLINE_EXCEEDED,
+                            "Deadline exceeded before HTTP request started");
+                }
+                if (remaining < requestTimeout.toMillis()) {
+                    requestTimeout = Duration.ofMillis(remaining);
+                }
+            }
+
+            log.debug("Executing HTTP {} request to: {} (timeout {}ms)", method, url, requestTimeout.toMillis());
 
             WebClient.RequestHeadersSpec<?> spec = switch (method.toUpperCase()) {
                 case "GET" -> webClient.get().uri(url);
@@ -68,7 +82,7 @@ public class HttpRequestTool implements Tool {
             String response = spec
                     .retrieve()
                     .bodyToMono(String.class)
-                    .timeout(Duration.ofSeconds(timeout))
+                    .timeout(requestTimeout)
                     .block();
 
             long executionTime = System.currentTimeMillis() - startTime;
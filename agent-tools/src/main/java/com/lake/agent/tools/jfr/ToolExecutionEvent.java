@@ -0,0 +1,71 @@
+package com.lake.agent.tools.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * 工具执行的JFR事件
+ * 默认关闭，仅在启用了该事件的录制进行时才会提交
+ *
+ * @author Lake Intelligence Team
+ * @since 1.0.0
+ */
+@Name(ToolExecutionEvent.NAME)
+@Label("Tool Execution")
+@Description("Execution of a tool on behalf of an agent or API caller")
+@Category({"Lake Intelligence", "Tool"})
+@Enabled(false)
+@StackTrace(false)
+public class ToolExecutionEvent extends Event {
+
+    /**
+     * 事件名称
+     */
+    public static final String NAME = "com.lake.agent.ToolExecution";
+
+    @Label("Tool Name")
+    public String toolName;
+
+    @Label("Success")
+    public boolean success;
+
+    @Label("Error Code")
+    public String errorCode;
+
+    @Label("Result Size")
+    @Description("Length of a text result, element count of a collection or map, -1 if unknown")
+    public long resultSize;
+
+    /**
+     * 估算结果数据大小，仅在事件提交时调用
+     *
+     * @param data 结果数据
+     * @return 文本长度、字节数或元素数量，无法估算时返回-1
+     */
+    public static long sizeOf(Object data) {
+        if (data == null) {
+            return 0;
+        }
+        if (data instanceof CharSequence text) {
+            return text.length();
+        }
+        if (data instanceof byte[] bytes) {
+            return bytes.length;
+        }
+        if (data instanceof Collection<?> collection) {
+            return collection.size();
+        }
+        if (data instanceof Map<?, ?> map) {
+            return map.size();
+        }
+        return -1;
+    }
+}
\ No newline at end of file